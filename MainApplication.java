@@ -1,11 +1,16 @@
-package co.edu.uniandes.dse.carmotor;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-@SpringBootApplication
-public class MainApplication {
-	public static void main(String[] args) {
-		SpringApplication.run(MainApplication.class, args);
-	}
+package co.edu.uniandes.dse.carmotor;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class MainApplication {
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(MainApplication.class);
+		// Defaults only; any property source given at startup takes precedence
+		application.setDefaultProperties(Map.of("management.endpoints.web.exposure.include", "health,prometheus"));
+		application.run(args);
+	}
 }
\ No newline at end of file
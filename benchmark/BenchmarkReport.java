@@ -0,0 +1,15 @@
+package co.edu.uniandes.dse.carmotor.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BenchmarkReport {
+    private Instant startedAt;
+    private String javaVersion;
+    private int availableProcessors;
+    private List<BenchmarkResult> results = new ArrayList<>();
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package co.edu.uniandes.dse.carmotor.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Timings of one benchmark at one set of parameters, in nanoseconds per
+ * operation.
+ */
+@Data
+public class BenchmarkResult {
+    private String name;
+    private Map<String, Object> params = new LinkedHashMap<>();
+    private int iterations;
+    private double meanNanos;
+    private long minNanos;
+    private long p50Nanos;
+    private long p99Nanos;
+    private long maxNanos;
+    private double opsPerSecond;
+}
\ No newline at end of file
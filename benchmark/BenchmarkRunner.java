@@ -0,0 +1,271 @@
+package co.edu.uniandes.dse.carmotor.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.hibernate.Hibernate;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import co.edu.uniandes.dse.carmotor.dto.VehicleDetailDTO;
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.mappers.VehicleMapper;
+import co.edu.uniandes.dse.carmotor.podam.DatasetLoader;
+import co.edu.uniandes.dse.carmotor.podam.DatasetScale;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import co.edu.uniandes.dse.carmotor.services.PhotoService;
+import co.edu.uniandes.dse.carmotor.services.VehiclePhotoService;
+import co.edu.uniandes.dse.carmotor.services.VehicleService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the benchmarks when the application starts with the benchmark
+ * profile, against whatever database it is configured with (an embedded
+ * one unless told otherwise), and writes the results as JSON so runs can be
+ * compared. With spring.main.web-application-type=none the application
+ * exits once they finish, without the gallery benchmark, which goes through
+ * the web server.
+ *
+ * <p>
+ * Data is generated with {@link DatasetLoader} and added between dataset
+ * sizes, never removed, so the sizes must be increasing and the database
+ * should start empty.
+ */
+@Slf4j
+@Component
+@Profile("benchmark")
+public class BenchmarkRunner implements ApplicationRunner {
+    private static final int SERIALIZED_LIST_SIZE = 100;
+    private static final int GALLERY_SIZE = 12;
+    private static final int GALLERY_PHOTO_WIDTH = 800;
+    private static final int GALLERY_PHOTO_HEIGHT = 600;
+
+    @Value("${carmotor.benchmark.seed:42}")
+    private long seed;
+
+    @Value("${carmotor.benchmark.start:" + DatasetLoader.DEFAULT_START + "}")
+    private String start;
+
+    @Value("${carmotor.benchmark.sizes:100,1000,10000}")
+    private List<Integer> sizes;
+
+    @Value("${carmotor.benchmark.warmup:200}")
+    private int warmup;
+
+    @Value("${carmotor.benchmark.iterations:1000}")
+    private int iterations;
+
+    @Value("${carmotor.benchmark.gallery-threads:16}")
+    private int galleryThreads;
+
+    @Value("${carmotor.benchmark.output-directory:target/benchmarks}")
+    private String outputDirectory;
+
+    @Autowired
+    private PhotoService photoService;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehiclePhotoService vehiclePhotoService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ModelMapper modelMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DatasetLoader datasetLoader;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        BenchmarkReport report = new BenchmarkReport();
+        report.setStartedAt(Instant.now());
+        report.setJavaVersion(System.getProperty("java.version"));
+        report.setAvailableProcessors(Runtime.getRuntime().availableProcessors());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Instant from = Instant.parse(start);
+        long loaded = vehicleRepository.count();
+        for (Integer size : sizes) {
+            if (size > loaded) {
+                // Each increment has its own seed, so a size always holds the same data
+                datasetLoader.load(DatasetScale.forVehicles((int) (size - loaded)), seed + size, from);
+                loaded = size;
+            }
+            log.info("Running benchmarks with {} vehicles", loaded);
+            report.getResults().addAll(runAt(transactionTemplate, loaded));
+        }
+        BenchmarkResult gallery = runGallery();
+        if (gallery != null) {
+            report.getResults().add(gallery);
+        }
+
+        Path output = write(report);
+        log.info("Benchmark results written to {}", output);
+    }
+
+    private List<BenchmarkResult> runAt(TransactionTemplate transactionTemplate, long size) throws Exception {
+        Map<String, Object> params = Map.of("vehicles", size);
+        List<Long> ids = vehicleRepository.findAllByOrderByIdAsc(PageRequest.of(0, (int) Math.min(size, 1000)))
+                .stream().map(VehicleEntity::getId).toList();
+        List<BenchmarkResult> results = new ArrayList<>();
+
+        // Loading every vehicle is much slower than the rest, so it gets fewer runs
+        int listIterations = Math.max(1, iterations / 50);
+        results.add(Benchmarks.measure("VehicleService.getVehicles", params, Math.max(1, warmup / 50),
+                listIterations, i -> vehicleService.getVehicles()));
+        results.add(Benchmarks.measure("VehicleService.getVehicle", params, warmup, iterations,
+                i -> vehicleService.getVehicle(ids.get(i % ids.size()))));
+
+        // Mapping and serialization work on detached vehicles with every association loaded
+        List<VehicleEntity> detailed = transactionTemplate.execute(status -> {
+            List<VehicleEntity> vehicles = vehicleRepository.findAllById(
+                    ids.subList(0, Math.min(ids.size(), SERIALIZED_LIST_SIZE)));
+            for (VehicleEntity vehicle : vehicles) {
+                initialize(vehicle);
+            }
+            return vehicles;
+        });
+        VehicleEntity vehicle = detailed.get(0);
+        results.add(Benchmarks.measure("ModelMapper.map(VehicleDetailDTO)", params, warmup, iterations,
+                i -> modelMapper.map(vehicle, VehicleDetailDTO.class)));
+        results.add(Benchmarks.measure("VehicleMapper.toDetailDTO", params, warmup, iterations,
+                i -> VehicleMapper.toDetailDTO(vehicle)));
+        List<VehicleDetailDTO> detailDTOs = VehicleMapper.toDetailDTOList(detailed);
+        results.add(Benchmarks.measure("ObjectMapper.write(List<VehicleDetailDTO>)",
+                Map.of("vehicles", size, "listSize", detailDTOs.size()), warmup, iterations,
+                i -> objectMapper.writeValueAsBytes(detailDTOs)));
+
+        // Membership checks of the association services
+        List<Long[]> memberships = new ArrayList<>();
+        for (VehicleEntity candidate : detailed) {
+            for (PhotoEntity photo : candidate.getPhotos()) {
+                memberships.add(new Long[] { candidate.getId(), photo.getId() });
+            }
+        }
+        if (!memberships.isEmpty()) {
+            results.add(Benchmarks.measure("VehiclePhotoService.getPhotoFromVehicle", params, warmup, iterations,
+                    i -> {
+                        Long[] membership = memberships.get(i % memberships.size());
+                        return vehiclePhotoService.getPhotoFromVehicle(membership[0], membership[1]);
+                    }));
+        }
+        return results;
+    }
+
+    /**
+     * Concurrent gallery views: many clients fetching the content of the same
+     * photos over HTTP, as a vehicle gallery does. Needs the embedded web
+     * server, so it is skipped when the application runs without one.
+     */
+    private BenchmarkResult runGallery() throws Exception {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null) {
+            log.info("Skipping the gallery benchmark, there is no web server");
+            return null;
+        }
+        String base = "http://localhost:" + port + environment.getProperty("server.servlet.context-path", "");
+        Random random = new Random(seed);
+        List<URI> uris = new ArrayList<>();
+        long bytes = 0;
+        for (int i = 0; i < GALLERY_SIZE; i++) {
+            byte[] image = galleryPhoto(random);
+            PhotoEntity photo = photoService.uploadPhoto("gallery", MediaType.IMAGE_PNG,
+                    new ByteArrayInputStream(image));
+            uris.add(URI.create(base + "/photos/" + photo.getId() + "/content"));
+            bytes += image.length;
+        }
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        return Benchmarks.measureConcurrently("GET /photos/{id}/content",
+                Map.of("photos", GALLERY_SIZE, "meanPhotoBytes", bytes / GALLERY_SIZE), galleryThreads, warmup,
+                iterations, i -> {
+                    HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size())).GET().build();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != HttpStatus.OK.value()) {
+                        throw new IllegalStateException("Photo content answered " + response.statusCode());
+                    }
+                    return response;
+                });
+    }
+
+    /**
+     * Random pixels, so the PNG barely compresses and is large enough to be
+     * sent with sendfile.
+     */
+    private static byte[] galleryPhoto(Random random) throws IOException {
+        BufferedImage image = new BufferedImage(GALLERY_PHOTO_WIDTH, GALLERY_PHOTO_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < GALLERY_PHOTO_HEIGHT; y++) {
+            for (int x = 0; x < GALLERY_PHOTO_WIDTH; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static void initialize(VehicleEntity vehicle) {
+        Hibernate.initialize(vehicle.getPhotos());
+        for (PhotoEntity photo : vehicle.getPhotos()) {
+            Hibernate.initialize(photo.getVariants());
+        }
+        Hibernate.initialize(vehicle.getBanks());
+        Hibernate.initialize(vehicle.getInsurancePolicies());
+        Hibernate.initialize(vehicle.getMaintenances());
+        Hibernate.initialize(vehicle.getTestDrives());
+        Hibernate.initialize(vehicle.getAssessor());
+        Hibernate.initialize(vehicle.getLocation());
+    }
+
+    private Path write(BenchmarkReport report) throws IOException {
+        Path directory = Files.createDirectories(Paths.get(outputDirectory));
+        Path output = directory.resolve("benchmark-" + report.getStartedAt().toEpochMilli() + ".json");
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        return output;
+    }
+}
\ No newline at end of file
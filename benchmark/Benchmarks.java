@@ -0,0 +1,145 @@
+package co.edu.uniandes.dse.carmotor.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal timing loop: a warm-up phase that is discarded, then one sample
+ * per operation, on one thread or several. Results are kept in a sink so the
+ * JIT cannot drop the work.
+ */
+public final class Benchmarks {
+    private static volatile int sink;
+
+    private Benchmarks() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static BenchmarkResult measure(String name, Map<String, Object> params, int warmup, int iterations,
+            Operation operation) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            consume(operation.run(i));
+        }
+
+        long[] samples = new long[iterations];
+        long total = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            Object result = operation.run(i);
+            samples[i] = System.nanoTime() - start;
+            total += samples[i];
+            consume(result);
+        }
+        return summarize(name, params, samples, total);
+    }
+
+    /**
+     * Same as {@link #measure}, but the operations are run by {@code threads}
+     * threads at once. Samples are the latency of each operation, while the
+     * throughput is taken over the wall-clock time of the whole run.
+     */
+    public static BenchmarkResult measureConcurrently(String name, Map<String, Object> params, int threads,
+            int warmup, int iterations, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            runConcurrently(executor, threads, warmup, i -> consume(operation.run(i)));
+
+            long[] samples = new long[iterations];
+            long start = System.nanoTime();
+            runConcurrently(executor, threads, iterations, i -> {
+                long operationStart = System.nanoTime();
+                Object result = operation.run(i);
+                samples[i] = System.nanoTime() - operationStart;
+                consume(result);
+            });
+            long elapsed = System.nanoTime() - start;
+
+            Map<String, Object> allParams = new LinkedHashMap<>(params);
+            allParams.put("threads", threads);
+            return summarize(name, allParams, samples, elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Hands out the iteration numbers to the threads until all are run, and
+     * rethrows the first failure.
+     */
+    private static void runConcurrently(ExecutorService executor, int threads, int count, Task task)
+            throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                    task.run(i);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+    }
+
+    /**
+     * Statistics of the samples, with the throughput taken over
+     * {@code elapsedNanos}.
+     */
+    private static BenchmarkResult summarize(String name, Map<String, Object> params, long[] samples,
+            long elapsedNanos) {
+        int iterations = samples.length;
+        long total = 0;
+        for (long sample : samples) {
+            total += sample;
+        }
+        Arrays.sort(samples);
+
+        BenchmarkResult result = new BenchmarkResult();
+        result.setName(name);
+        result.getParams().putAll(params);
+        result.setIterations(iterations);
+        if (iterations > 0) {
+            result.setMeanNanos((double) total / iterations);
+            result.setMinNanos(samples[0]);
+            result.setP50Nanos(percentile(samples, 0.50));
+            result.setP99Nanos(percentile(samples, 0.99));
+            result.setMaxNanos(samples[iterations - 1]);
+            result.setOpsPerSecond(elapsedNanos == 0 ? 0.0 : iterations * 1_000_000_000.0 / elapsedNanos);
+        }
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static void consume(Object value) {
+        sink ^= value == null ? 0 : System.identityHashCode(value);
+    }
+
+    /**
+     * One operation to time. The iteration number lets it vary its input.
+     */
+    public interface Operation {
+        Object run(int iteration) throws Exception;
+    }
+
+    private interface Task {
+        void run(int iteration) throws Exception;
+    }
+}
\ No newline at end of file
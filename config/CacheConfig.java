@@ -0,0 +1,34 @@
+package co.edu.uniandes.dse.carmotor.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import co.edu.uniandes.dse.carmotor.entities.AssessorEntity;
+import co.edu.uniandes.dse.carmotor.entities.BankingEntity;
+import co.edu.uniandes.dse.carmotor.services.ReferenceCache;
+
+/**
+ * Read caches for the reference entities. Each one can be switched off or
+ * resized with the carmotor.cache.&lt;type&gt;.* properties.
+ */
+@Configuration
+public class CacheConfig {
+	@Bean
+	public ReferenceCache<BankingEntity> bankingCache(
+			@Value("${carmotor.cache.banking.enabled:true}") boolean enabled,
+			@Value("${carmotor.cache.banking.max-size:500}") int maxSize,
+			@Value("${carmotor.cache.banking.ttl:PT10M}") Duration ttl) {
+		return new ReferenceCache<>("banking", enabled, maxSize, ttl);
+	}
+
+	@Bean
+	public ReferenceCache<AssessorEntity> assessorCache(
+			@Value("${carmotor.cache.assessor.enabled:true}") boolean enabled,
+			@Value("${carmotor.cache.assessor.max-size:1000}") int maxSize,
+			@Value("${carmotor.cache.assessor.ttl:PT5M}") Duration ttl) {
+		return new ReferenceCache<>("assessor", enabled, maxSize, ttl);
+	}
+}
@@ -0,0 +1,81 @@
+package co.edu.uniandes.dse.carmotor.config;
+
+import java.time.Duration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.persistence.SharedCacheMode;
+
+@Configuration
+public class HibernateConfig {
+	@Value("${carmotor.jdbc.batch-size:50}")
+	private int batchSize;
+
+	@Value("${carmotor.hibernate.second-level-cache.enabled:true}")
+	private boolean secondLevelCacheEnabled;
+
+	@Value("${carmotor.hibernate.second-level-cache.entity-max-entries:10000}")
+	private long secondLevelCacheEntityEntries;
+
+	@Value("${carmotor.hibernate.second-level-cache.collection-max-entries:10000}")
+	private long secondLevelCacheCollectionEntries;
+
+	@Value("${carmotor.hibernate.second-level-cache.query-max-entries:1000}")
+	private long secondLevelCacheQueryEntries;
+
+	@Value("${carmotor.hibernate.second-level-cache.ttl:PT10M}")
+	private Duration secondLevelCacheTtl;
+
+	/**
+	 * Groups INSERT and UPDATE statements into JDBC batches. Ordering them by
+	 * entity keeps consecutive statements identical so the driver can batch
+	 * them, and versioned rows are batched as well.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+		return properties -> {
+			properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+			properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+			properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+			properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+		};
+	}
+
+	/**
+	 * Lets {@link SqlStatementBudgetFilter} count the statements of each
+	 * request.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer statementCounterCustomizer() {
+		return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+	}
+
+	/**
+	 * Second-level and query cache for the entities marked @Cacheable. Only
+	 * those entities are cached, each in a region named after its class or
+	 * collection role. The regions are declared in
+	 * {@link SecondLevelCacheRegions} with a maximum number of entries and a
+	 * time to live; a region missing there fails startup.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+		return properties -> {
+			if (!secondLevelCacheEnabled) {
+				properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+				return;
+			}
+			properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+			properties.putIfAbsent(AvailableSettings.USE_QUERY_CACHE, true);
+			properties.putIfAbsent(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			properties.putIfAbsent(AvailableSettings.JPA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+			properties.putIfAbsent("hibernate.javax.cache.cache_manager",
+					SecondLevelCacheRegions.create(secondLevelCacheEntityEntries, secondLevelCacheCollectionEntries,
+							secondLevelCacheQueryEntries, secondLevelCacheTtl));
+			properties.putIfAbsent("hibernate.javax.cache.missing_cache_strategy", "fail");
+		};
+	}
+}
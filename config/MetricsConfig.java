@@ -0,0 +1,78 @@
+package co.edu.uniandes.dse.carmotor.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import co.edu.uniandes.dse.carmotor.services.ReferenceCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+/**
+ * Metrics exposed on /actuator/prometheus. Request latency per endpoint,
+ * repository invocations and the HikariCP pool are recorded by Spring Boot;
+ * service methods are timed by {@link ServiceMetricsAspect}.
+ */
+@Configuration
+public class MetricsConfig {
+	/**
+	 * Timers that publish histogram buckets, so percentiles can be computed
+	 * across instances in Prometheus.
+	 */
+	static final List<String> HISTOGRAM_TIMERS = List.of("http.server.requests",
+			"spring.data.repository.invocations", ServiceMetricsAspect.METRIC_NAME);
+
+	@Bean
+	public MeterRegistryCustomizer<MeterRegistry> commonTagsCustomizer() {
+		return registry -> registry.config().commonTags("application", "carmotor");
+	}
+
+	@Bean
+	public MeterFilter histogramMeterFilter() {
+		return new MeterFilter() {
+			@Override
+			public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+				if (id.getType() != Meter.Type.TIMER || !HISTOGRAM_TIMERS.contains(id.getName())) {
+					return config;
+				}
+				return DistributionStatisticConfig.builder()
+						.percentilesHistogram(true)
+						.minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+						.maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+						.build()
+						.merge(config);
+			}
+		};
+	}
+
+	/**
+	 * Size, hits, misses and evictions of every reference cache, the same
+	 * figures GET /caches returns.
+	 */
+	@Bean
+	public MeterBinder referenceCacheMetrics(List<ReferenceCache<?>> caches) {
+		return registry -> {
+			for (ReferenceCache<?> cache : caches) {
+				String name = cache.getName();
+				Gauge.builder("carmotor.cache.size", cache, c -> c.stats().getSize())
+						.tag("cache", name).register(registry);
+				Gauge.builder("carmotor.cache.max.size", cache, c -> c.stats().getMaxSize())
+						.tag("cache", name).register(registry);
+				FunctionCounter.builder("carmotor.cache.gets", cache, c -> c.stats().getHits())
+						.tag("cache", name).tag("result", "hit").register(registry);
+				FunctionCounter.builder("carmotor.cache.gets", cache, c -> c.stats().getMisses())
+						.tag("cache", name).tag("result", "miss").register(registry);
+				FunctionCounter.builder("carmotor.cache.evictions", cache, c -> c.stats().getEvictions())
+						.tag("cache", name).register(registry);
+			}
+		};
+	}
+}
\ No newline at end of file
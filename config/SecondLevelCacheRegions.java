@@ -0,0 +1,63 @@
+package co.edu.uniandes.dse.carmotor.config;
+
+import java.time.Duration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+
+import co.edu.uniandes.dse.carmotor.entities.BankingEntity;
+import co.edu.uniandes.dse.carmotor.entities.InsurancePolicyEntity;
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+
+/**
+ * The regions of the second-level cache, each bounded on the heap and, except
+ * for the update timestamps, expiring after a time to live. Hibernate is told
+ * to fail on any other region, so a newly cached entity or collection must be
+ * declared here instead of silently getting an unbounded one.
+ */
+final class SecondLevelCacheRegions {
+	/**
+	 * One entry per table at most, so the bound is never reached. Evicting a
+	 * timestamp could let a stale query result be served, so it never expires.
+	 */
+	private static final long UPDATE_TIMESTAMPS_ENTRIES = 1000;
+
+	private SecondLevelCacheRegions() {
+		throw new IllegalStateException("Utility class");
+	}
+
+	static CacheManager create(long entityEntries, long collectionEntries, long queryEntries, Duration ttl) {
+		CacheManager cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+				.getCacheManager();
+		declare(cacheManager, VehicleEntity.class.getName(), entityEntries, ttl);
+		declare(cacheManager, PhotoEntity.class.getName(), entityEntries, ttl);
+		declare(cacheManager, BankingEntity.class.getName(), entityEntries, ttl);
+		declare(cacheManager, InsurancePolicyEntity.class.getName(), entityEntries, ttl);
+		declare(cacheManager, VehicleEntity.class.getName() + ".photos", collectionEntries, ttl);
+		declare(cacheManager, VehicleEntity.class.getName() + ".banks", collectionEntries, ttl);
+		declare(cacheManager, VehicleEntity.class.getName() + ".insurancePolicies", collectionEntries, ttl);
+		declare(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryEntries, ttl);
+		declare(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+				UPDATE_TIMESTAMPS_ENTRIES, null);
+		return cacheManager;
+	}
+
+	private static void declare(CacheManager cacheManager, String region, long entries, Duration ttl) {
+		CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder
+				.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(entries));
+		if (ttl != null) {
+			configuration = configuration.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+		}
+		if (cacheManager.getCache(region) == null) {
+			cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package co.edu.uniandes.dse.carmotor.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public method of the *Service classes, tagged with the class,
+ * the method and the exception thrown, if any.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+	public static final String METRIC_NAME = "carmotor.service.invocations";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Around("execution(public * co.edu.uniandes.dse.carmotor.services.*Service.*(..))")
+	public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(METRIC_NAME)
+					.tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+					.tag("method", joinPoint.getSignature().getName())
+					.tag("exception", exception)
+					.register(meterRegistry));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package co.edu.uniandes.dse.carmotor.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the SQL statements run while handling each request. The count is
+ * returned in the X-Sql-Statement-Count header and recorded per endpoint, and
+ * requests above carmotor.sql.statement-budget are logged. With
+ * carmotor.sql.statement-budget.strict the statement over the budget fails
+ * instead, so tests catch an N+1 regression.
+ *
+ * <p>
+ * Statements run on other threads, such as streamed response bodies, are not
+ * counted.
+ */
+@Slf4j
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+	public static final String HEADER = "X-Sql-Statement-Count";
+	public static final String METRIC_NAME = "carmotor.http.sql.statements";
+
+	@Value("${carmotor.sql.statement-budget:50}")
+	private int budget;
+
+	@Value("${carmotor.sql.statement-budget.strict:false}")
+	private boolean strict;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		SqlStatementCounter.start(budget, strict);
+		int statements;
+		try {
+			chain.doFilter(request, new CountingResponse(response));
+		} finally {
+			statements = SqlStatementCounter.stop();
+		}
+		if (!response.isCommitted()) {
+			response.setHeader(HEADER, Integer.toString(statements));
+		}
+
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+		DistributionSummary.builder(METRIC_NAME)
+				.tag("method", request.getMethod())
+				.tag("uri", uri)
+				.publishPercentileHistogram()
+				.maximumExpectedValue(1000.0)
+				.register(meterRegistry)
+				.record(statements);
+		if (statements > budget) {
+			log.warn("{} {} ran {} SQL statements, over the budget of {}", request.getMethod(),
+					request.getQueryString() == null ? request.getRequestURI()
+							: request.getRequestURI() + "?" + request.getQueryString(),
+					statements, budget);
+		}
+	}
+
+	/**
+	 * Sets the header just before the body is written, while headers can still
+	 * change. Statements run after that are only seen by the log and the
+	 * metric.
+	 */
+	private static class CountingResponse extends HttpServletResponseWrapper {
+		CountingResponse(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			setCountHeader();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			setCountHeader();
+			return super.getWriter();
+		}
+
+		private void setCountHeader() {
+			if (!isCommitted()) {
+				setHeader(HEADER, Integer.toString(SqlStatementCounter.current()));
+			}
+		}
+	}
+}
\ No newline at end of file
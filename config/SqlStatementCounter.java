@@ -0,0 +1,57 @@
+package co.edu.uniandes.dse.carmotor.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is open. {@link SqlStatementBudgetFilter} opens one per request.
+ */
+public class SqlStatementCounter implements StatementInspector {
+	private static final ThreadLocal<Count> CURRENT = new ThreadLocal<>();
+
+	static void start(int budget, boolean strict) {
+		CURRENT.set(new Count(budget, strict));
+	}
+
+	/**
+	 * Closes the count of the current thread and returns the number of
+	 * statements seen.
+	 */
+	static int stop() {
+		Count count = CURRENT.get();
+		CURRENT.remove();
+		return count == null ? 0 : count.statements;
+	}
+
+	/**
+	 * Statements prepared so far in the current request, or 0 outside one.
+	 */
+	public static int current() {
+		Count count = CURRENT.get();
+		return count == null ? 0 : count.statements;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		Count count = CURRENT.get();
+		if (count != null) {
+			count.statements++;
+			if (count.strict && count.statements > count.budget) {
+				throw new IllegalStateException("Request exceeded its budget of " + count.budget
+						+ " SQL statements with: " + sql);
+			}
+		}
+		return sql;
+	}
+
+	private static class Count {
+		private final int budget;
+		private final boolean strict;
+		private int statements;
+
+		Count(int budget, boolean strict) {
+			this.budget = budget;
+			this.strict = strict;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package co.edu.uniandes.dse.carmotor.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import co.edu.uniandes.dse.carmotor.services.ReferenceCache;
+
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+    @Autowired
+    private List<ReferenceCache<?>> caches;
+
+    @GetMapping
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<ReferenceCache.Stats> findAll() {
+        List<ReferenceCache.Stats> stats = new ArrayList<>();
+        for (ReferenceCache<?> cache : caches) {
+            stats.add(cache.stats());
+        }
+        return stats;
+    }
+}
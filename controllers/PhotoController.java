@@ -1,61 +1,134 @@
-package co.edu.uniandes.dse.carmotor.controllers;
-
-import java.util.List;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.*;
-
-import co.edu.uniandes.dse.carmotor.dto.PhotoDTO;
-import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
-import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
-import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
-import co.edu.uniandes.dse.carmotor.services.PhotoService;
-
-@RestController
-@RequestMapping("/photos")
-public class PhotoController {
-    @Autowired
-    private PhotoService photoService;
-
-    @Autowired
-    private ModelMapper modelMapper;
-
-    @GetMapping
-    @ResponseStatus(code = HttpStatus.OK)
-    public List<PhotoDTO> findAll() {
-        List<PhotoEntity> photos = photoService.getPhotos();
-        return modelMapper.map(photos, new TypeToken<List<PhotoDTO>>() {}.getType());
-    }
-
-    @GetMapping(value = "/{id}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public PhotoDTO findOne(@PathVariable Long id) throws EntityNotFoundException {
-        PhotoEntity photoEntity = photoService.getPhoto(id);
-        return modelMapper.map(photoEntity, PhotoDTO.class);
-    }
-
-    @PostMapping
-    @ResponseStatus(code = HttpStatus.CREATED)
-    public PhotoDTO create(@RequestBody PhotoDTO photoDTO)
-            throws IllegalOperationException, EntityNotFoundException {
-        PhotoEntity photoEntity = photoService.createPhoto(modelMapper.map(photoDTO, PhotoEntity.class));
-        return modelMapper.map(photoEntity, PhotoDTO.class);
-    }
-
-    @PutMapping(value = "/{id}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public PhotoDTO update(@PathVariable Long id, @RequestBody PhotoDTO photoDTO)
-            throws EntityNotFoundException, IllegalOperationException {
-        PhotoEntity photoEntity = photoService.updatePhoto(id, modelMapper.map(photoDTO, PhotoEntity.class));
-        return modelMapper.map(photoEntity, PhotoDTO.class);
-    }
-
-    @DeleteMapping(value = "/{id}")
-    @ResponseStatus(code = HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) throws EntityNotFoundException, IllegalOperationException {
-        photoService.deletePhoto(id);
-    }
+package co.edu.uniandes.dse.carmotor.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import co.edu.uniandes.dse.carmotor.dto.PhotoDTO;
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.mappers.PhotoMapper;
+import co.edu.uniandes.dse.carmotor.services.PhotoContent;
+import co.edu.uniandes.dse.carmotor.services.PhotoService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/photos")
+public class PhotoController {
+    /**
+     * Stored content never changes for a given photo, so clients and proxies
+     * may keep it for as long as they like.
+     */
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /**
+     * The original served in place of a variant is replaced once variants are
+     * generated, so it is only kept briefly.
+     */
+    private static final String PENDING_CACHE_CONTROL = "public, max-age=60";
+
+    @Autowired
+    private PhotoService photoService;
+
+    @GetMapping
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<PhotoDTO> findAll() {
+        List<PhotoEntity> photos = photoService.getPhotos();
+        return PhotoMapper.toDTOList(photos);
+    }
+
+    @GetMapping(value = "/{id}")
+    @ResponseStatus(code = HttpStatus.OK)
+    public PhotoDTO findOne(@PathVariable Long id) throws EntityNotFoundException {
+        PhotoEntity photoEntity = photoService.getPhoto(id);
+        return PhotoMapper.toDTO(photoEntity);
+    }
+
+    /**
+     * Serves the stored bytes of the photo, or of its smallest variant at
+     * least {@code width} pixels wide. Only final content is marked
+     * immutable. A range whose If-Range no longer matches gets the whole
+     * content.
+     *
+     * When the container supports it, the file and a single byte range are
+     * handed to it and sent without copying. Otherwise, and for multiple or
+     * unsatisfiable ranges, Spring's resource support streams the file.
+     */
+    @GetMapping(value = "/{id}/content")
+    public ResponseEntity<Resource> findContent(@PathVariable Long id,
+            @RequestParam(required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange, WebRequest request,
+            HttpServletRequest servletRequest, HttpServletResponse servletResponse)
+            throws EntityNotFoundException, IllegalOperationException, IOException {
+        PhotoContent content = photoService.getPhotoContent(id, width);
+        String tag = "\"" + content.getContentHash() + "\"";
+        if (request.checkNotModified(tag)) {
+            return ResourceVersions.notModified();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(tag);
+        headers.setCacheControl(content.isVariantPending() ? PENDING_CACHE_CONTROL : IMMUTABLE_CACHE_CONTROL);
+        headers.setContentType(MediaType.parseMediaType(content.getContentType()));
+        boolean rangeApplies = ifRange == null || ifRange.equals(tag);
+        if (SendFiles.send(servletRequest, servletResponse, content.getPath(), content.getContentLength(),
+                rangeApplies, headers)) {
+            // The response is complete; the container sends the file
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().headers(headers);
+        if (!rangeApplies) {
+            // Ranges are not applied to a stream resource
+            return builder.contentLength(content.getContentLength())
+                    .body(new InputStreamResource(Files.newInputStream(content.getPath())));
+        }
+        return builder.body(new FileSystemResource(content.getPath()));
+    }
+
+    @PostMapping
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public PhotoDTO create(@RequestBody PhotoDTO photoDTO)
+            throws IllegalOperationException, EntityNotFoundException {
+        PhotoEntity photoEntity = photoService.createPhoto(PhotoMapper.toEntity(photoDTO));
+        return PhotoMapper.toDTO(photoEntity);
+    }
+
+    @PostMapping(consumes = { MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE,
+            "image/webp" })
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public PhotoDTO upload(InputStream body, @RequestParam String area,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType)
+            throws IOException, IllegalOperationException {
+        PhotoEntity photoEntity = photoService.uploadPhoto(area, contentType, body);
+        return PhotoMapper.toDTO(photoEntity);
+    }
+
+    @PutMapping(value = "/{id}")
+    @ResponseStatus(code = HttpStatus.OK)
+    public PhotoDTO update(@PathVariable Long id, @RequestBody PhotoDTO photoDTO)
+            throws EntityNotFoundException, IllegalOperationException {
+        PhotoEntity photoEntity = photoService.updatePhoto(id, PhotoMapper.toEntity(photoDTO));
+        return PhotoMapper.toDTO(photoEntity);
+    }
+
+    @DeleteMapping(value = "/{id}")
+    @ResponseStatus(code = HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable Long id) throws EntityNotFoundException, IllegalOperationException {
+        photoService.deletePhoto(id);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package co.edu.uniandes.dse.carmotor.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import co.edu.uniandes.dse.carmotor.projections.ResourceVersion;
+
+/**
+ * Conditional GET support: compares the request validators with the current
+ * version of a resource before its representation is built.
+ */
+final class ResourceVersions {
+    private ResourceVersions() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Evaluates If-None-Match and If-Modified-Since. When the client copy is
+     * current the response is already marked 304 with its validators set.
+     */
+    static boolean isNotModified(WebRequest request, ResourceVersion version) {
+        long lastModified = version.getLastModified() == null ? -1 : version.getLastModified().toEpochMilli();
+        return request.checkNotModified(version.getTag(), lastModified);
+    }
+
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    static <T> ResponseEntity<T> ok(ResourceVersion version, T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(version.getTag());
+        if (version.getLastModified() != null) {
+            builder.lastModified(version.getLastModified());
+        }
+        return builder.body(body);
+    }
+}
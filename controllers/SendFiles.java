@@ -0,0 +1,78 @@
+package co.edu.uniandes.dse.carmotor.controllers;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Zero-copy file responses: the file is handed to Tomcat, which sends it
+ * with the operating system's sendfile once the handler returns, so its
+ * bytes never pass through the heap.
+ */
+final class SendFiles {
+    private static final String SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Smaller files are cheaper to copy than to hand over, as in Tomcat's
+     * default servlet.
+     */
+    private static final long MIN_LENGTH = 48 * 1024;
+
+    private SendFiles() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Sets the status and headers of the response and hands the file to the
+     * container, honouring a single byte range unless {@code rangeApplies} is
+     * false. Returns false, leaving the response untouched, when the
+     * container cannot send files, the file is small, or the request asks
+     * for several ranges or a malformed or unsatisfiable one. Those are left
+     * to Spring's resource support.
+     */
+    static boolean send(HttpServletRequest request, HttpServletResponse response, Path path, long length,
+            boolean rangeApplies, HttpHeaders headers) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SUPPORT_ATTRIBUTE)) || length < MIN_LENGTH
+                || HttpMethod.HEAD.matches(request.getMethod())) {
+            return false;
+        }
+        long start = 0;
+        long end = length;
+        String rangeHeader = rangeApplies ? request.getHeader(HttpHeaders.RANGE) : null;
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    return false;
+                }
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length) + 1;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        headers.forEach((name, values) -> response.setHeader(name, String.join(", ", values)));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (rangeHeader != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentLengthLong(end - start);
+        request.setAttribute(FILENAME_ATTRIBUTE, path.toAbsolutePath().toString());
+        request.setAttribute(START_ATTRIBUTE, start);
+        request.setAttribute(END_ATTRIBUTE, end);
+        return true;
+    }
+}
\ No newline at end of file
@@ -1,62 +1,224 @@
-package co.edu.uniandes.dse.carmotor.controllers;
-
-import java.util.List;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.*;
-
-import co.edu.uniandes.dse.carmotor.dto.VehicleDTO;
-import co.edu.uniandes.dse.carmotor.dto.VehicleDetailDTO;
-import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
-import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
-import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
-import co.edu.uniandes.dse.carmotor.services.VehicleService;
-
-@RestController
-@RequestMapping("/vehicles")
-public class VehicleController {
-    @Autowired
-    private VehicleService vehicleService;
-
-    @Autowired
-    private ModelMapper modelMapper;
-
-    @GetMapping
-    @ResponseStatus(code = HttpStatus.OK)
-    public List<VehicleDetailDTO> findAll() {
-        List<VehicleEntity> vehicles = vehicleService.getVehicles();
-        return modelMapper.map(vehicles, new TypeToken<List<VehicleDetailDTO>>() {}.getType());
-    }
-
-    @GetMapping(value = "/{id}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public VehicleDetailDTO findOne(@PathVariable Long id) throws EntityNotFoundException {
-        VehicleEntity vehicleEntity = vehicleService.getVehicle(id);
-        return modelMapper.map(vehicleEntity, VehicleDetailDTO.class);
-    }
-
-    @PostMapping
-    @ResponseStatus(code = HttpStatus.CREATED)
-    public VehicleDTO create(@RequestBody VehicleDTO vehicleDTO)
-            throws IllegalOperationException, EntityNotFoundException {
-        VehicleEntity vehicleEntity = vehicleService.createVehicle(modelMapper.map(vehicleDTO, VehicleEntity.class));
-        return modelMapper.map(vehicleEntity, VehicleDTO.class);
-    }
-
-    @PutMapping(value = "/{id}")
-    @ResponseStatus(code = HttpStatus.OK)
-    public VehicleDTO update(@PathVariable Long id, @RequestBody VehicleDTO vehicleDTO)
-            throws EntityNotFoundException, IllegalOperationException {
-        VehicleEntity vehicleEntity = vehicleService.updateVehicle(id, modelMapper.map(vehicleDTO, VehicleEntity.class));
-        return modelMapper.map(vehicleEntity, VehicleDTO.class);
-    }
-
-    @DeleteMapping(value = "/{id}")
-    @ResponseStatus(code = HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) throws EntityNotFoundException, IllegalOperationException {
-        vehicleService.deleteVehicle(id);
-    }
+package co.edu.uniandes.dse.carmotor.controllers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.carmotor.dto.AvailabilityDTO;
+import co.edu.uniandes.dse.carmotor.dto.PhotoDTO;
+import co.edu.uniandes.dse.carmotor.dto.PhotoVariantDTO;
+import co.edu.uniandes.dse.carmotor.dto.VehicleDTO;
+import co.edu.uniandes.dse.carmotor.dto.VehicleDetailDTO;
+import co.edu.uniandes.dse.carmotor.dto.VehicleImportReportDTO;
+import co.edu.uniandes.dse.carmotor.dto.VehiclePageDTO;
+import co.edu.uniandes.dse.carmotor.dto.VehicleSearchResultDTO;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.mappers.AvailabilityMapper;
+import co.edu.uniandes.dse.carmotor.mappers.VehicleCsv;
+import co.edu.uniandes.dse.carmotor.mappers.VehicleImportReportMapper;
+import co.edu.uniandes.dse.carmotor.mappers.VehicleMapper;
+import co.edu.uniandes.dse.carmotor.projections.ResourceVersion;
+import co.edu.uniandes.dse.carmotor.projections.VehicleSummary;
+import co.edu.uniandes.dse.carmotor.services.Availability;
+import co.edu.uniandes.dse.carmotor.services.PhotoVariants;
+import co.edu.uniandes.dse.carmotor.services.TestDriveAvailabilityService;
+import co.edu.uniandes.dse.carmotor.services.VehicleExportService;
+import co.edu.uniandes.dse.carmotor.services.VehicleImportReport;
+import co.edu.uniandes.dse.carmotor.services.VehicleImportService;
+import co.edu.uniandes.dse.carmotor.services.VehiclePage;
+import co.edu.uniandes.dse.carmotor.services.VehicleSearchCriteria;
+import co.edu.uniandes.dse.carmotor.services.VehicleSearchResult;
+import co.edu.uniandes.dse.carmotor.services.VehicleSearchService;
+import co.edu.uniandes.dse.carmotor.services.VehicleService;
+
+@RestController
+@RequestMapping("/vehicles")
+public class VehicleController {
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private VehicleSearchService vehicleSearchService;
+
+    @Autowired
+    private VehicleImportService vehicleImportService;
+
+    @Autowired
+    private VehicleExportService vehicleExportService;
+
+    @Autowired
+    private TestDriveAvailabilityService testDriveAvailabilityService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @GetMapping
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<VehicleDetailDTO> findAll() {
+        List<VehicleEntity> vehicles = vehicleService.getVehicles();
+        return VehicleMapper.toDetailDTOList(vehicles);
+    }
+
+    @GetMapping(value = "/page")
+    @ResponseStatus(code = HttpStatus.OK)
+    public VehiclePageDTO findPage(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size, @RequestParam(required = false) String sortBy)
+            throws IllegalOperationException {
+        VehiclePage page = vehicleService.getVehiclePage(cursor, size, sortBy);
+        VehiclePageDTO pageDTO = new VehiclePageDTO();
+        pageDTO.setVehicles(VehicleMapper.toDetailDTOList(page.getVehicles()));
+        pageDTO.setNextCursor(page.getNextCursor());
+        return pageDTO;
+    }
+
+    @GetMapping(value = "/search")
+    @ResponseStatus(code = HttpStatus.OK)
+    public VehicleSearchResultDTO search(VehicleSearchCriteria criteria) throws IllegalOperationException {
+        VehicleSearchResult result = vehicleSearchService.searchVehicles(criteria);
+        VehicleSearchResultDTO resultDTO = new VehicleSearchResultDTO();
+        resultDTO.setVehicles(VehicleMapper.toDTOList(result.getVehicles().getContent()));
+        resultDTO.setTotalElements(result.getVehicles().getTotalElements());
+        resultDTO.setPage(result.getVehicles().getNumber());
+        resultDTO.setSize(result.getVehicles().getSize());
+        resultDTO.setBrands(result.getBrandFacets());
+        resultDTO.setTypes(result.getTypeFacets());
+        return resultDTO;
+    }
+
+    @GetMapping(value = "/search", params = "q")
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<VehicleDTO> searchText(@RequestParam String q, @RequestParam(required = false) Integer limit)
+            throws IllegalOperationException {
+        List<VehicleEntity> vehicles = vehicleSearchService.searchVehiclesByText(q, limit);
+        return VehicleMapper.toDTOList(vehicles);
+    }
+
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format)
+            throws IllegalOperationException {
+        boolean csv = "csv".equals(format);
+        if (!csv && !"ndjson".equals(format)) {
+            throw new IllegalOperationException("Vehicle export format is not valid");
+        }
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            if (csv) {
+                writer.write(VehicleCsv.header());
+                writer.write('\n');
+            }
+            vehicleExportService.exportVehicles(vehicle -> {
+                try {
+                    VehicleDTO vehicleDTO = VehicleMapper.toDTO(vehicle);
+                    writer.write(csv ? VehicleCsv.format(vehicleDTO) : objectMapper.writeValueAsString(vehicleDTO));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"vehicles." + format + "\"")
+                .body(body);
+    }
+
+    @GetMapping(params = "view=summary")
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<VehicleSummary> findAllSummaries(@RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size) throws IllegalOperationException {
+        return vehicleService.getVehicleSummaries(afterId, size);
+    }
+
+    /**
+     * With {@code width}, each photo lists only the variant that best fits
+     * that width, or none when the original should be used.
+     */
+    @GetMapping(value = "/{id}")
+    public ResponseEntity<VehicleDetailDTO> findOne(@PathVariable Long id,
+            @RequestParam(required = false) Integer width, WebRequest request)
+            throws EntityNotFoundException, IllegalOperationException {
+        if (width != null && width <= 0) {
+            throw new IllegalOperationException("Photo width must be positive");
+        }
+        ResourceVersion version = vehicleService.getVehicleVersion(id);
+        if (ResourceVersions.isNotModified(request, version)) {
+            return ResourceVersions.notModified();
+        }
+        VehicleEntity vehicleEntity = vehicleService.getVehicle(id);
+        VehicleDetailDTO vehicleDTO = VehicleMapper.toDetailDTO(vehicleEntity);
+        if (width != null) {
+            for (PhotoDTO photoDTO : vehicleDTO.getPhotos()) {
+                PhotoVariantDTO variant = PhotoVariants.fit(photoDTO.getVariants(), PhotoVariantDTO::getWidth, width);
+                photoDTO.setVariants(variant == null ? new ArrayList<>() : new ArrayList<>(List.of(variant)));
+            }
+        }
+        return ResourceVersions.ok(version, vehicleDTO);
+    }
+
+    @GetMapping(value = "/{id}/availability")
+    @ResponseStatus(code = HttpStatus.OK)
+    public AvailabilityDTO findAvailability(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to)
+            throws EntityNotFoundException, IllegalOperationException {
+        Availability availability = testDriveAvailabilityService.getVehicleAvailability(id, from, to);
+        return AvailabilityMapper.toDTO(availability);
+    }
+
+    @PostMapping
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public VehicleDTO create(@RequestBody VehicleDTO vehicleDTO)
+            throws IllegalOperationException, EntityNotFoundException {
+        VehicleEntity vehicleEntity = vehicleService.createVehicle(VehicleMapper.toEntity(vehicleDTO));
+        return VehicleMapper.toDTO(vehicleEntity);
+    }
+
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+    @ResponseStatus(code = HttpStatus.OK)
+    public VehicleImportReportDTO importVehicles(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType)
+            throws IOException, IllegalOperationException {
+        String format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? VehicleImportService.FORMAT_CSV : VehicleImportService.FORMAT_NDJSON;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        VehicleImportReport report = vehicleImportService.importVehicles(reader, format);
+        return VehicleImportReportMapper.toDTO(report);
+    }
+
+    @PutMapping(value = "/{id}")
+    @ResponseStatus(code = HttpStatus.OK)
+    public VehicleDTO update(@PathVariable Long id, @RequestBody VehicleDTO vehicleDTO)
+            throws EntityNotFoundException, IllegalOperationException {
+        VehicleEntity vehicleEntity = vehicleService.updateVehicle(id, VehicleMapper.toEntity(vehicleDTO));
+        return VehicleMapper.toDTO(vehicleEntity);
+    }
+
+    @DeleteMapping(value = "/{id}")
+    @ResponseStatus(code = HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable Long id) throws EntityNotFoundException, IllegalOperationException {
+        vehicleService.deleteVehicle(id);
+    }
 }
\ No newline at end of file
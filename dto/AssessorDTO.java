@@ -1,11 +1,12 @@
-package co.edu.uniandes.dse.carmotor.dto;
-
-import lombok.Data;
-
-@Data
-public class AssessorDTO {
-    private Long id;
-    private String name;
-    private String uriPhoto;
-    private String contactInfo;
+package co.edu.uniandes.dse.carmotor.dto;
+
+import lombok.Data;
+
+@Data
+public class AssessorDTO {
+    private Long id;
+    private Long version;
+    private String name;
+    private String uriPhoto;
+    private String contactInfo;
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
-package co.edu.uniandes.dse.carmotor.dto;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import lombok.Data;
-
-@Data
-public class AssessorDetailDTO extends AssessorDTO {
-    private List<VehicleDTO> vehicles = new ArrayList<>();
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class AssessorDetailDTO extends AssessorDTO {
+    private List<VehicleDTO> vehicles = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class AvailabilityDTO {
+    private Instant from;
+    private Instant to;
+    private List<TimeWindow> busy = new ArrayList<>();
+    private List<TimeWindow> free = new ArrayList<>();
+
+    @Data
+    public static class TimeWindow {
+        private Instant start;
+        private Instant end;
+    }
+}
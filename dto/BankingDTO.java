@@ -1,11 +1,12 @@
-package co.edu.uniandes.dse.carmotor.dto;
-
-import lombok.Data;
-
-@Data
-public class BankingDTO {
-    private Long id;
-    private String name;
-    private String uriLogo;
-    private String assessorPhone;
+package co.edu.uniandes.dse.carmotor.dto;
+
+import lombok.Data;
+
+@Data
+public class BankingDTO {
+    private Long id;
+    private Long version;
+    private String name;
+    private String uriLogo;
+    private String assessorPhone;
 }
\ No newline at end of file
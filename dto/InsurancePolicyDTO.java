@@ -1,14 +1,15 @@
-package co.edu.uniandes.dse.carmotor.dto;
-
-import java.sql.Date;
-
-import lombok.Data;
-
-@Data
-public class InsurancePolicyDTO {
-    private Long id;
-    private String price;
-    private Date duration;
-    private Double premiumRate;
-    private String insuranceCompany;
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.sql.Date;
+
+import lombok.Data;
+
+@Data
+public class InsurancePolicyDTO {
+    private Long id;
+    private Long version;
+    private String price;
+    private Date duration;
+    private Double premiumRate;
+    private String insuranceCompany;
 }
\ No newline at end of file
@@ -1,10 +1,18 @@
-package co.edu.uniandes.dse.carmotor.dto;
-
-import lombok.Data;
-
-@Data
-public class PhotoDTO {
-    private Long id;
-    private String uri;
-    private String area;
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class PhotoDTO {
+    private Long id;
+    private Long version;
+    private String uri;
+    private String area;
+    private String contentHash;
+    private String contentType;
+    private Long contentLength;
+    private List<PhotoVariantDTO> variants = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package co.edu.uniandes.dse.carmotor.dto;
+
+import lombok.Data;
+
+@Data
+public class PhotoVariantDTO {
+    private Long id;
+    private Integer width;
+    private Integer height;
+    private String contentType;
+    private Long contentLength;
+}
\ No newline at end of file
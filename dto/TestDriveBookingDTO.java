@@ -0,0 +1,14 @@
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+@Data
+public class TestDriveBookingDTO {
+    private Long vehicleId;
+    private Long locationId;
+    private Long userId;
+    private Instant startTime;
+    private Instant endTime;
+}
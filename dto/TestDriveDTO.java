@@ -1,11 +1,15 @@
-package co.edu.uniandes.dse.carmotor.dto;
-
-import java.sql.Date;
-
-import lombok.Data;
-
-@Data
-public class TestDriveDTO {
-    private Long id;
-    private Date date;
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.sql.Date;
+import java.time.Instant;
+
+import lombok.Data;
+
+@Data
+public class TestDriveDTO {
+    private Long id;
+    private Long version;
+    private Date date;
+    private Instant startTime;
+    private Instant endTime;
 }
\ No newline at end of file
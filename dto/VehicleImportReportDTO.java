@@ -0,0 +1,19 @@
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class VehicleImportReportDTO {
+    private long imported;
+    private long rejected;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
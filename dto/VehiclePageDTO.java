@@ -0,0 +1,12 @@
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class VehiclePageDTO {
+    private List<VehicleDetailDTO> vehicles = new ArrayList<>();
+    private String nextCursor;
+}
@@ -0,0 +1,18 @@
+package co.edu.uniandes.dse.carmotor.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class VehicleSearchResultDTO {
+    private List<VehicleDTO> vehicles = new ArrayList<>();
+    private long totalElements;
+    private int page;
+    private int size;
+    private Map<String, Long> brands = new LinkedHashMap<>();
+    private Map<String, Long> types = new LinkedHashMap<>();
+}
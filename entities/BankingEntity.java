@@ -1,12 +1,18 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-import jakarta.persistence.Entity;
-import lombok.Data;
-
-@Data
-@Entity
-public class BankingEntity extends BaseEntity {
-    private String name;
-    private String uriLogo;
-    private String assessorPhone;
+package co.edu.uniandes.dse.carmotor.entities;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import lombok.Data;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+@Data
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class BankingEntity extends BaseEntity {
+    private String name;
+    private String uriLogo;
+    private String assessorPhone;
 }
\ No newline at end of file
@@ -1,48 +1,75 @@
-/*
-MIT License
-
-Copyright (c) 2021 Universidad de los Andes - ISIS2603
-
-Permission is hereby granted, free of charge, to any person obtaining a copy
-of this software and associated documentation files (the "Software"), to deal
-in the Software without restriction, including without limitation the rights
-to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
-copies of the Software, and to permit persons to whom the Software is
-furnished to do so, subject to the following conditions:
-
-The above copyright notice and this permission notice shall be included in all
-copies or substantial portions of the Software.
-
-THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
-IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
-FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
-AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
-LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
-OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
-SOFTWARE.
-*/
-
-package co.edu.uniandes.dse.carmotor.entities;
-
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.MappedSuperclass;
-
-import lombok.Data;
-import uk.co.jemos.podam.common.PodamExclude;
-
-/**
- * Entidad genérica de la que heredan todas las entidades. Contiene la
- * referencia al atributo id
- *
- * @author ISIS2603
- */
-@Data
-@MappedSuperclass
-public abstract class BaseEntity {
-	@PodamExclude
-	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Long id;
+/*
+MIT License
+
+Copyright (c) 2021 Universidad de los Andes - ISIS2603
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package co.edu.uniandes.dse.carmotor.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
+
+import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+import uk.co.jemos.podam.common.PodamExclude;
+
+/**
+ * Entidad genérica de la que heredan todas las entidades. Contiene la
+ * referencia al atributo id
+ *
+ * @author ISIS2603
+ */
+@Data
+@MappedSuperclass
+public abstract class BaseEntity {
+	@PodamExclude
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "carmotor_seq")
+	@SequenceGenerator(name = "carmotor_seq", sequenceName = "carmotor_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
+	private Long id;
+
+	/**
+	 * Número de ids que Hibernate reserva por cada llamada a la secuencia. Con
+	 * IDENTITY cada INSERT se ejecutaba al momento para conocer el id, lo que
+	 * impedía agrupar inserciones en lotes JDBC.
+	 */
+	public static final int ID_ALLOCATION_SIZE = 50;
+
+	/**
+	 * Versión de la fila, incrementada por Hibernate en cada actualización.
+	 */
+	@PodamExclude
+	@Version
+	private Long version;
+
+	/**
+	 * Fecha de la última escritura de la fila.
+	 */
+	@PodamExclude
+	@UpdateTimestamp
+	private Instant lastModified;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package co.edu.uniandes.dse.carmotor.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row locked by every booking of a vehicle or location, so bookings of the
+ * same resource run one after the other without touching the version of
+ * the vehicle or location itself.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_booking_lock_resource",
+        columnNames = { "resource", "resourceId" }))
+public class BookingLockEntity extends BaseEntity {
+    @Enumerated(EnumType.STRING)
+    private BookingResourceEnum resource;
+    private Long resourceId;
+
+    public BookingLockEntity(BookingResourceEnum resource, Long resourceId) {
+        this.resource = resource;
+        this.resourceId = resourceId;
+    }
+}
\ No newline at end of file
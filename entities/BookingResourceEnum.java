@@ -0,0 +1,5 @@
+package co.edu.uniandes.dse.carmotor.entities;
+
+public enum BookingResourceEnum {
+    VEHICLE, LOCATION
+}
\ No newline at end of file
@@ -1,20 +1,26 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-import java.util.Date;
-
-import jakarta.persistence.Entity;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
-
-import lombok.Data;
-
-@Data
-@Entity
-public class InsurancePolicyEntity extends BaseEntity {
-    private Double price;
-    private Double premiumRate;
-    private String insuranceCompany;
-
-    @Temporal(TemporalType.DATE)
-    private Date duration;
+package co.edu.uniandes.dse.carmotor.entities;
+
+import java.util.Date;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+import lombok.Data;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+@Data
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+public class InsurancePolicyEntity extends BaseEntity {
+    private Double price;
+    private Double premiumRate;
+    private String insuranceCompany;
+
+    @Temporal(TemporalType.DATE)
+    private Date duration;
 }
\ No newline at end of file
@@ -1,32 +1,51 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import jakarta.persistence.CascadeType;
-import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.OneToMany;
-import lombok.Data;
-import uk.co.jemos.podam.common.PodamExclude;
-
-@Data
-@Entity
-public class LocationEntity extends BaseEntity {
-    private String name;
-    private String address;
-    private String phoneNumber;
-    private String schedule;
-
-    @PodamExclude
-    @OneToMany(fetch=FetchType.LAZY)
-    private List<TestDriveEntity> testDrives = new ArrayList<>();
-
-    @PodamExclude
-    @OneToMany(mappedBy = "location", fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
-    private List<VehicleEntity> vehicles = new ArrayList<>();
-
-    @PodamExclude
-    @OneToMany(mappedBy = "location", fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
-    private List<AssessorEntity> assessors = new ArrayList<>();
+package co.edu.uniandes.dse.carmotor.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.OneToMany;
+import lombok.Data;
+
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.OptimisticLock;
+import uk.co.jemos.podam.common.PodamExclude;
+
+@Data
+@Entity
+@BatchSize(size = 50)
+public class LocationEntity extends BaseEntity {
+    public static final String TEST_DRIVES_TABLE = "location_entity_test_drives";
+
+    private String name;
+    private String address;
+    private String phoneNumber;
+    private String schedule;
+
+    /**
+     * Booking a test drive adds to this list without changing the location
+     * itself, so it leaves the version alone. The detail entity tag counts
+     * the test drives on its own.
+     */
+    @PodamExclude
+    @OptimisticLock(excluded = true)
+    @OneToMany(fetch=FetchType.LAZY)
+    @JoinTable(name = TEST_DRIVES_TABLE, joinColumns = @JoinColumn(name = "location_entity_id"),
+            inverseJoinColumns = @JoinColumn(name = "test_drives_id"),
+            indexes = @Index(name = "idx_location_test_drives_location",
+                    columnList = "location_entity_id, test_drives_id"))
+    private List<TestDriveEntity> testDrives = new ArrayList<>();
+
+    @PodamExclude
+    @OneToMany(mappedBy = "location", fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    private List<VehicleEntity> vehicles = new ArrayList<>();
+
+    @PodamExclude
+    @OneToMany(mappedBy = "location", fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    private List<AssessorEntity> assessors = new ArrayList<>();
 }
\ No newline at end of file
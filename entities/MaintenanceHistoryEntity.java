@@ -1,19 +1,19 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-import java.util.Date;
-
-import jakarta.persistence.Entity;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
-
-import lombok.Data;
-    
-@Data
-@Entity
-public class MaintenanceHistoryEntity extends BaseEntity {
-	private String type;
-	private String address;
-
-	@Temporal(TemporalType.DATE)
-    private Date date;
+package co.edu.uniandes.dse.carmotor.entities;
+
+import java.util.Date;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+import lombok.Data;
+    
+@Data
+@Entity
+public class MaintenanceHistoryEntity extends BaseEntity {
+	private String type;
+	private String address;
+
+	@Temporal(TemporalType.DATE)
+    private Date date;
 }   
\ No newline at end of file
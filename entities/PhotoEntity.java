@@ -1,11 +1,43 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-import jakarta.persistence.Entity;
-import lombok.Data;
-
-@Data
-@Entity
-public class PhotoEntity extends BaseEntity {
-    private String uri;
-    private String area;
+package co.edu.uniandes.dse.carmotor.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import uk.co.jemos.podam.common.PodamExclude;
+
+@Data
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_photo_content_hash", columnList = "contentHash"))
+public class PhotoEntity extends BaseEntity {
+    private String uri;
+    private String area;
+
+    /**
+     * SHA-256 of the uploaded bytes, which are kept in the blob store. Null
+     * for photos hosted elsewhere and referenced only by uri.
+     */
+    private String contentHash;
+    private String contentType;
+    private Long contentLength;
+
+    @PodamExclude
+    @BatchSize(size = 50)
+    @OrderBy("width asc")
+    @OneToMany(mappedBy = "photo", fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
+    private List<PhotoVariantEntity> variants = new ArrayList<>();
 }
\ No newline at end of file
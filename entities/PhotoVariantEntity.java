@@ -0,0 +1,29 @@
+package co.edu.uniandes.dse.carmotor.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import uk.co.jemos.podam.common.PodamExclude;
+
+/**
+ * Resized copy of an uploaded photo, stored in the blob store like the
+ * original.
+ */
+@Data
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_photo_variant_photo", columnList = "photo_id, width"),
+        @Index(name = "idx_photo_variant_content_hash", columnList = "contentHash") })
+public class PhotoVariantEntity extends BaseEntity {
+    private Integer width;
+    private Integer height;
+    private String contentHash;
+    private String contentType;
+    private Long contentLength;
+
+    @PodamExclude
+    @ManyToOne
+    private PhotoEntity photo;
+}
\ No newline at end of file
@@ -1,30 +1,47 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-
-import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.ManyToMany;
-import jakarta.persistence.ManyToOne;
-import jakarta.persistence.Temporal;
-import jakarta.persistence.TemporalType;
-
-import lombok.Data;
-import uk.co.jemos.podam.common.PodamExclude;
-
-@Data
-@Entity
-public class TestDriveEntity extends BaseEntity{
-    @Temporal(TemporalType.DATE)
-    private Date date;
-
-    @PodamExclude
-    @ManyToOne
-    private UserEntity user;
-
-    @PodamExclude
-    @ManyToMany(fetch = FetchType.LAZY)
-    private List<VehicleEntity> vehicles = new ArrayList<>();
+package co.edu.uniandes.dse.carmotor.entities;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+import lombok.Data;
+import uk.co.jemos.podam.common.PodamExclude;
+
+@Data
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_test_drive_end_time", columnList = "endTime"),
+        @Index(name = "idx_test_drive_start_end_time", columnList = "startTime, endTime") })
+public class TestDriveEntity extends BaseEntity{
+    public static final String VEHICLES_TABLE = "test_drive_entity_vehicles";
+
+    @Temporal(TemporalType.DATE)
+    private Date date;
+
+    private Instant startTime;
+    private Instant endTime;
+
+    @PodamExclude
+    @ManyToOne
+    private UserEntity user;
+
+    @PodamExclude
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = VEHICLES_TABLE, joinColumns = @JoinColumn(name = "test_drive_entity_id"),
+            inverseJoinColumns = @JoinColumn(name = "vehicles_id"),
+            indexes = @Index(name = "idx_test_drive_vehicles_vehicle",
+                    columnList = "vehicles_id, test_drive_entity_id"))
+    private List<VehicleEntity> vehicles = new ArrayList<>();
 }
\ No newline at end of file
@@ -1,28 +1,37 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.OneToMany;
-import lombok.Data;
-import uk.co.jemos.podam.common.PodamExclude;
-
-@Data
-@Entity
-public class UserEntity extends BaseEntity {
-    private String name;
-    private String email;
-    private String identifier;
-    private String phone;
-    private UserRoleEnum role;
-
-    @PodamExclude
-    @OneToMany(fetch = FetchType.LAZY)
-    private List<VehicleEntity> vehicles = new ArrayList<>();
-
-    @PodamExclude
-    @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
-    private List<TestDriveEntity> testDrives = new ArrayList<>();
+package co.edu.uniandes.dse.carmotor.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.OneToMany;
+import lombok.Data;
+
+import org.hibernate.annotations.BatchSize;
+import uk.co.jemos.podam.common.PodamExclude;
+
+@Data
+@Entity
+@BatchSize(size = 50)
+public class UserEntity extends BaseEntity {
+    public static final String VEHICLES_TABLE = "user_entity_vehicles";
+
+    private String name;
+    private String email;
+    private String identifier;
+    private String phone;
+    private UserRoleEnum role;
+
+    @PodamExclude
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = VEHICLES_TABLE, joinColumns = @JoinColumn(name = "user_entity_id"),
+            inverseJoinColumns = @JoinColumn(name = "vehicles_id"))
+    private List<VehicleEntity> vehicles = new ArrayList<>();
+
+    @PodamExclude
+    @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
+    private List<TestDriveEntity> testDrives = new ArrayList<>();
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-public enum UserRoleEnum {
-    CLIENT, MANAGER
+package co.edu.uniandes.dse.carmotor.entities;
+
+public enum UserRoleEnum {
+    CLIENT, MANAGER
 }
\ No newline at end of file
@@ -1,53 +1,109 @@
-package co.edu.uniandes.dse.carmotor.entities;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import jakarta.persistence.CascadeType;
-import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.ManyToMany;
-import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
-import lombok.Data;
-import uk.co.jemos.podam.common.PodamExclude;
-
-@Data
-@Entity
-public class VehicleEntity extends BaseEntity {
-    private String brand;
-    private String series;
-    private String lastPlateDigit;
-    private String model;
-    private String type;
-    private Integer capacity;
-    private Double price;
-
-    @PodamExclude
-    @OneToMany(fetch = FetchType.LAZY)
-    private List<MaintenanceHistoryEntity> maintenances = new ArrayList<>();
-
-    @PodamExclude
-    @OneToMany(fetch = FetchType.LAZY)
-    private List<InsurancePolicyEntity> insurancePolicies = new ArrayList<>();
-
-    @PodamExclude
-    @ManyToMany(mappedBy = "vehicles", fetch = FetchType.LAZY)
-    private List<TestDriveEntity> testDrives = new ArrayList<>();
-
-    @PodamExclude
-    @ManyToOne
-    private AssessorEntity assessor;
-
-    @PodamExclude
-    @OneToMany(fetch = FetchType.LAZY)
-    private List<BankingEntity> banks = new ArrayList<>();
-
-    @PodamExclude
-    @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<PhotoEntity> photos = new ArrayList<>();
-
-    @PodamExclude
-    @ManyToOne
-    private LocationEntity location;
+package co.edu.uniandes.dse.carmotor.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import uk.co.jemos.podam.common.PodamExclude;
+
+@Data
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = VehicleEntity.CATALOG_GRAPH, attributeNodes = {
+        @NamedAttributeNode(value = "assessor", subgraph = "assessor"),
+        @NamedAttributeNode("location") },
+        subgraphs = @NamedSubgraph(name = "assessor", attributeNodes = @NamedAttributeNode("location")))
+@Table(indexes = {
+        @Index(name = "idx_vehicle_brand_series_model", columnList = "brand, series, model"),
+        @Index(name = "idx_vehicle_type", columnList = "type"),
+        @Index(name = "idx_vehicle_price", columnList = "price, id"),
+        @Index(name = "idx_vehicle_capacity", columnList = "capacity") })
+public class VehicleEntity extends BaseEntity {
+    /**
+     * Fetch plan used when listing vehicles: the to-one associations are joined
+     * in the listing query and every lazy collection below is loaded in batches,
+     * so mapping N vehicles issues a constant number of queries instead of one
+     * per collection per vehicle.
+     */
+    public static final String CATALOG_GRAPH = "VehicleEntity.catalog";
+
+    /**
+     * Join tables of the vehicle collections. Their names are fixed because
+     * deleting a vehicle clears them with native statements.
+     */
+    public static final String MAINTENANCES_TABLE = "vehicle_entity_maintenances";
+    public static final String INSURANCE_POLICIES_TABLE = "vehicle_entity_insurance_policies";
+    public static final String BANKS_TABLE = "vehicle_entity_banks";
+    public static final String PHOTOS_TABLE = "vehicle_entity_photos";
+
+    private String brand;
+    private String series;
+    private String lastPlateDigit;
+    private String model;
+    private String type;
+    private Integer capacity;
+    private Double price;
+
+    @PodamExclude
+    @BatchSize(size = 50)
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = MAINTENANCES_TABLE, joinColumns = @JoinColumn(name = "vehicle_entity_id"),
+            inverseJoinColumns = @JoinColumn(name = "maintenances_id"))
+    private List<MaintenanceHistoryEntity> maintenances = new ArrayList<>();
+
+    @PodamExclude
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = INSURANCE_POLICIES_TABLE, joinColumns = @JoinColumn(name = "vehicle_entity_id"),
+            inverseJoinColumns = @JoinColumn(name = "insurance_policies_id"))
+    private List<InsurancePolicyEntity> insurancePolicies = new ArrayList<>();
+
+    @PodamExclude
+    @BatchSize(size = 50)
+    @ManyToMany(mappedBy = "vehicles", fetch = FetchType.LAZY)
+    private List<TestDriveEntity> testDrives = new ArrayList<>();
+
+    @PodamExclude
+    @ManyToOne
+    private AssessorEntity assessor;
+
+    @PodamExclude
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = BANKS_TABLE, joinColumns = @JoinColumn(name = "vehicle_entity_id"),
+            inverseJoinColumns = @JoinColumn(name = "banks_id"))
+    private List<BankingEntity> banks = new ArrayList<>();
+
+    @PodamExclude
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinTable(name = PHOTOS_TABLE, joinColumns = @JoinColumn(name = "vehicle_entity_id"),
+            inverseJoinColumns = @JoinColumn(name = "photos_id"))
+    private List<PhotoEntity> photos = new ArrayList<>();
+
+    @PodamExclude
+    @ManyToOne
+    private LocationEntity location;
 }
\ No newline at end of file
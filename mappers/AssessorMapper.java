@@ -0,0 +1,65 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.AssessorDTO;
+import co.edu.uniandes.dse.carmotor.dto.AssessorDetailDTO;
+import co.edu.uniandes.dse.carmotor.entities.AssessorEntity;
+
+public final class AssessorMapper {
+    private AssessorMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static AssessorDTO toDTO(AssessorEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        AssessorDTO dto = new AssessorDTO();
+        copyToDTO(entity, dto);
+        return dto;
+    }
+
+    public static AssessorDetailDTO toDetailDTO(AssessorEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        AssessorDetailDTO dto = new AssessorDetailDTO();
+        copyToDTO(entity, dto);
+        dto.setVehicles(VehicleMapper.toDTOList(entity.getVehicles()));
+        return dto;
+    }
+
+    public static AssessorEntity toEntity(AssessorDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        AssessorEntity entity = new AssessorEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setName(dto.getName());
+        entity.setUriPhoto(dto.getUriPhoto());
+        entity.setContactInfo(dto.getContactInfo());
+        return entity;
+    }
+
+    public static List<AssessorDTO> toDTOList(List<AssessorEntity> entities) {
+        return MapperUtils.mapList(entities, AssessorMapper::toDTO);
+    }
+
+    public static List<AssessorDetailDTO> toDetailDTOList(List<AssessorEntity> entities) {
+        return MapperUtils.mapList(entities, AssessorMapper::toDetailDTO);
+    }
+
+    public static List<AssessorEntity> toEntityList(List<AssessorDTO> dtos) {
+        return MapperUtils.mapList(dtos, AssessorMapper::toEntity);
+    }
+
+    private static void copyToDTO(AssessorEntity entity, AssessorDTO dto) {
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setName(entity.getName());
+        dto.setUriPhoto(entity.getUriPhoto());
+        dto.setContactInfo(entity.getContactInfo());
+    }
+}
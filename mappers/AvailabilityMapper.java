@@ -0,0 +1,29 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import co.edu.uniandes.dse.carmotor.dto.AvailabilityDTO;
+import co.edu.uniandes.dse.carmotor.services.Availability;
+
+public final class AvailabilityMapper {
+    private AvailabilityMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static AvailabilityDTO toDTO(Availability availability) {
+        if (availability == null) {
+            return null;
+        }
+        AvailabilityDTO dto = new AvailabilityDTO();
+        dto.setFrom(availability.getFrom());
+        dto.setTo(availability.getTo());
+        dto.setBusy(MapperUtils.mapList(availability.getBusy(), AvailabilityMapper::toDTO));
+        dto.setFree(MapperUtils.mapList(availability.getFree(), AvailabilityMapper::toDTO));
+        return dto;
+    }
+
+    private static AvailabilityDTO.TimeWindow toDTO(Availability.TimeWindow window) {
+        AvailabilityDTO.TimeWindow dto = new AvailabilityDTO.TimeWindow();
+        dto.setStart(window.getStart());
+        dto.setEnd(window.getEnd());
+        return dto;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.BankingDTO;
+import co.edu.uniandes.dse.carmotor.entities.BankingEntity;
+
+public final class BankingMapper {
+    private BankingMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static BankingDTO toDTO(BankingEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        BankingDTO dto = new BankingDTO();
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setName(entity.getName());
+        dto.setUriLogo(entity.getUriLogo());
+        dto.setAssessorPhone(entity.getAssessorPhone());
+        return dto;
+    }
+
+    public static BankingEntity toEntity(BankingDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        BankingEntity entity = new BankingEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setName(dto.getName());
+        entity.setUriLogo(dto.getUriLogo());
+        entity.setAssessorPhone(dto.getAssessorPhone());
+        return entity;
+    }
+
+    public static List<BankingDTO> toDTOList(List<BankingEntity> entities) {
+        return MapperUtils.mapList(entities, BankingMapper::toDTO);
+    }
+
+    public static List<BankingEntity> toEntityList(List<BankingDTO> dtos) {
+        return MapperUtils.mapList(dtos, BankingMapper::toEntity);
+    }
+}
@@ -0,0 +1,48 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.InsurancePolicyDTO;
+import co.edu.uniandes.dse.carmotor.entities.InsurancePolicyEntity;
+
+public final class InsurancePolicyMapper {
+    private InsurancePolicyMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static InsurancePolicyDTO toDTO(InsurancePolicyEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        InsurancePolicyDTO dto = new InsurancePolicyDTO();
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setPrice(MapperUtils.toText(entity.getPrice()));
+        dto.setDuration(MapperUtils.toSqlDate(entity.getDuration()));
+        dto.setPremiumRate(entity.getPremiumRate());
+        dto.setInsuranceCompany(entity.getInsuranceCompany());
+        return dto;
+    }
+
+    public static InsurancePolicyEntity toEntity(InsurancePolicyDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        InsurancePolicyEntity entity = new InsurancePolicyEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setPrice(MapperUtils.toDouble(dto.getPrice(), "Insurance policy price"));
+        entity.setDuration(dto.getDuration());
+        entity.setPremiumRate(dto.getPremiumRate());
+        entity.setInsuranceCompany(dto.getInsuranceCompany());
+        return entity;
+    }
+
+    public static List<InsurancePolicyDTO> toDTOList(List<InsurancePolicyEntity> entities) {
+        return MapperUtils.mapList(entities, InsurancePolicyMapper::toDTO);
+    }
+
+    public static List<InsurancePolicyEntity> toEntityList(List<InsurancePolicyDTO> dtos) {
+        return MapperUtils.mapList(dtos, InsurancePolicyMapper::toEntity);
+    }
+}
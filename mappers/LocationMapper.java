@@ -0,0 +1,65 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.LocationDTO;
+import co.edu.uniandes.dse.carmotor.dto.LocationDetailDTO;
+import co.edu.uniandes.dse.carmotor.entities.LocationEntity;
+
+public final class LocationMapper {
+    private LocationMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static LocationDTO toDTO(LocationEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        LocationDTO dto = new LocationDTO();
+        copyToDTO(entity, dto);
+        return dto;
+    }
+
+    public static LocationDetailDTO toDetailDTO(LocationEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        LocationDetailDTO dto = new LocationDetailDTO();
+        copyToDTO(entity, dto);
+        dto.setTestDrives(TestDriveMapper.toDTOList(entity.getTestDrives()));
+        dto.setVehicles(VehicleMapper.toDTOList(entity.getVehicles()));
+        dto.setAssessors(AssessorMapper.toDTOList(entity.getAssessors()));
+        return dto;
+    }
+
+    public static LocationEntity toEntity(LocationDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        LocationEntity entity = new LocationEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setName(dto.getName());
+        entity.setAddress(dto.getAddress());
+        entity.setPhoneNumber(dto.getPhoneNumber());
+        entity.setSchedule(dto.getSchedule());
+        return entity;
+    }
+
+    public static List<LocationDTO> toDTOList(List<LocationEntity> entities) {
+        return MapperUtils.mapList(entities, LocationMapper::toDTO);
+    }
+
+    public static List<LocationDetailDTO> toDetailDTOList(List<LocationEntity> entities) {
+        return MapperUtils.mapList(entities, LocationMapper::toDetailDTO);
+    }
+
+    private static void copyToDTO(LocationEntity entity, LocationDTO dto) {
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setName(entity.getName());
+        dto.setAddress(entity.getAddress());
+        dto.setPhoneNumber(entity.getPhoneNumber());
+        dto.setSchedule(entity.getSchedule());
+    }
+}
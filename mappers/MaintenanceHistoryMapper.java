@@ -0,0 +1,46 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.MaintenanceHistoryDTO;
+import co.edu.uniandes.dse.carmotor.entities.MaintenanceHistoryEntity;
+
+public final class MaintenanceHistoryMapper {
+    private MaintenanceHistoryMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static MaintenanceHistoryDTO toDTO(MaintenanceHistoryEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        MaintenanceHistoryDTO dto = new MaintenanceHistoryDTO();
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setDate(MapperUtils.toSqlDate(entity.getDate()));
+        dto.setType(entity.getType());
+        dto.setAddress(entity.getAddress());
+        return dto;
+    }
+
+    public static MaintenanceHistoryEntity toEntity(MaintenanceHistoryDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        MaintenanceHistoryEntity entity = new MaintenanceHistoryEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setDate(dto.getDate());
+        entity.setType(dto.getType());
+        entity.setAddress(dto.getAddress());
+        return entity;
+    }
+
+    public static List<MaintenanceHistoryDTO> toDTOList(List<MaintenanceHistoryEntity> entities) {
+        return MapperUtils.mapList(entities, MaintenanceHistoryMapper::toDTO);
+    }
+
+    public static List<MaintenanceHistoryEntity> toEntityList(List<MaintenanceHistoryDTO> dtos) {
+        return MapperUtils.mapList(dtos, MaintenanceHistoryMapper::toEntity);
+    }
+}
@@ -0,0 +1,59 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+final class MapperUtils {
+    private MapperUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static <S, T> List<T> mapList(List<S> source, Function<S, T> mapper) {
+        List<T> target = new ArrayList<>(source == null ? 0 : source.size());
+        if (source != null) {
+            for (S element : source) {
+                target.add(mapper.apply(element));
+            }
+        }
+        return target;
+    }
+
+    static java.sql.Date toSqlDate(java.util.Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date instanceof java.sql.Date ? (java.sql.Date) date : new java.sql.Date(date.getTime());
+    }
+
+    static String toText(Number number) {
+        return number == null ? null : number.toString();
+    }
+
+    /**
+     * Parses the text of a numeric field; blank text is no value. Text that is
+     * not a number fails with a message naming the field, which
+     * RestExceptionHandler returns to the client.
+     */
+    static Integer toInteger(String text, String field) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(field + " is not a valid integer: " + text);
+        }
+    }
+
+    static Double toDouble(String text, String field) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(field + " is not a valid number: " + text);
+        }
+    }
+}
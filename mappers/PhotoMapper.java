@@ -0,0 +1,63 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.PhotoDTO;
+import co.edu.uniandes.dse.carmotor.dto.PhotoVariantDTO;
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import co.edu.uniandes.dse.carmotor.entities.PhotoVariantEntity;
+
+public final class PhotoMapper {
+    private PhotoMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static PhotoDTO toDTO(PhotoEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        PhotoDTO dto = new PhotoDTO();
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setUri(entity.getUri());
+        dto.setArea(entity.getArea());
+        dto.setContentHash(entity.getContentHash());
+        dto.setContentType(entity.getContentType());
+        dto.setContentLength(entity.getContentLength());
+        dto.setVariants(MapperUtils.mapList(entity.getVariants(), PhotoMapper::toVariantDTO));
+        return dto;
+    }
+
+    public static PhotoVariantDTO toVariantDTO(PhotoVariantEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        PhotoVariantDTO dto = new PhotoVariantDTO();
+        dto.setId(entity.getId());
+        dto.setWidth(entity.getWidth());
+        dto.setHeight(entity.getHeight());
+        dto.setContentType(entity.getContentType());
+        dto.setContentLength(entity.getContentLength());
+        return dto;
+    }
+
+    public static PhotoEntity toEntity(PhotoDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        PhotoEntity entity = new PhotoEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setUri(dto.getUri());
+        entity.setArea(dto.getArea());
+        return entity;
+    }
+
+    public static List<PhotoDTO> toDTOList(List<PhotoEntity> entities) {
+        return MapperUtils.mapList(entities, PhotoMapper::toDTO);
+    }
+
+    public static List<PhotoEntity> toEntityList(List<PhotoDTO> dtos) {
+        return MapperUtils.mapList(dtos, PhotoMapper::toEntity);
+    }
+}
@@ -0,0 +1,68 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.TestDriveDTO;
+import co.edu.uniandes.dse.carmotor.dto.TestDriveDetailDTO;
+import co.edu.uniandes.dse.carmotor.entities.TestDriveEntity;
+
+public final class TestDriveMapper {
+    private TestDriveMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static TestDriveDTO toDTO(TestDriveEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        TestDriveDTO dto = new TestDriveDTO();
+        copyToDTO(entity, dto);
+        return dto;
+    }
+
+    public static TestDriveDetailDTO toDetailDTO(TestDriveEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        TestDriveDetailDTO dto = new TestDriveDetailDTO();
+        copyToDTO(entity, dto);
+        if (entity.getUser() != null) {
+            dto.getUsers().add(UserMapper.toDTO(entity.getUser()));
+        }
+        dto.setVehicles(VehicleMapper.toDTOList(entity.getVehicles()));
+        return dto;
+    }
+
+    public static TestDriveEntity toEntity(TestDriveDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        TestDriveEntity entity = new TestDriveEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setDate(dto.getDate());
+        entity.setStartTime(dto.getStartTime());
+        entity.setEndTime(dto.getEndTime());
+        return entity;
+    }
+
+    public static List<TestDriveDTO> toDTOList(List<TestDriveEntity> entities) {
+        return MapperUtils.mapList(entities, TestDriveMapper::toDTO);
+    }
+
+    public static List<TestDriveDetailDTO> toDetailDTOList(List<TestDriveEntity> entities) {
+        return MapperUtils.mapList(entities, TestDriveMapper::toDetailDTO);
+    }
+
+    public static List<TestDriveEntity> toEntityList(List<TestDriveDTO> dtos) {
+        return MapperUtils.mapList(dtos, TestDriveMapper::toEntity);
+    }
+
+    private static void copyToDTO(TestDriveEntity entity, TestDriveDTO dto) {
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setDate(MapperUtils.toSqlDate(entity.getDate()));
+        dto.setStartTime(entity.getStartTime());
+        dto.setEndTime(entity.getEndTime());
+    }
+}
@@ -0,0 +1,66 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.UserDTO;
+import co.edu.uniandes.dse.carmotor.dto.UserDetailDTO;
+import co.edu.uniandes.dse.carmotor.entities.UserEntity;
+
+public final class UserMapper {
+    private UserMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static UserDTO toDTO(UserEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        UserDTO dto = new UserDTO();
+        copyToDTO(entity, dto);
+        return dto;
+    }
+
+    public static UserDetailDTO toDetailDTO(UserEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        UserDetailDTO dto = new UserDetailDTO();
+        copyToDTO(entity, dto);
+        dto.setTestDrives(TestDriveMapper.toDTOList(entity.getTestDrives()));
+        dto.setVehicles(VehicleMapper.toDTOList(entity.getVehicles()));
+        return dto;
+    }
+
+    public static UserEntity toEntity(UserDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        UserEntity entity = new UserEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setName(dto.getName());
+        entity.setEmail(dto.getEmail());
+        entity.setIdentifier(dto.getIdentifier());
+        entity.setPhone(dto.getPhone());
+        entity.setRole(dto.getRole());
+        return entity;
+    }
+
+    public static List<UserDTO> toDTOList(List<UserEntity> entities) {
+        return MapperUtils.mapList(entities, UserMapper::toDTO);
+    }
+
+    public static List<UserDetailDTO> toDetailDTOList(List<UserEntity> entities) {
+        return MapperUtils.mapList(entities, UserMapper::toDetailDTO);
+    }
+
+    private static void copyToDTO(UserEntity entity, UserDTO dto) {
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setName(entity.getName());
+        dto.setEmail(entity.getEmail());
+        dto.setIdentifier(entity.getIdentifier());
+        dto.setPhone(entity.getPhone());
+        dto.setRole(entity.getRole());
+    }
+}
@@ -0,0 +1,115 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import co.edu.uniandes.dse.carmotor.dto.VehicleDTO;
+
+/**
+ * CSV layout of a vehicle row, shared by the bulk import and export. Fields
+ * follow RFC 4180 quoting, one record per line.
+ */
+public final class VehicleCsv {
+    public static final List<String> COLUMNS = Arrays.asList(
+            "id", "brand", "series", "lastPlateDigit", "model", "type", "capacity", "price");
+
+    private VehicleCsv() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String header() {
+        return String.join(",", COLUMNS);
+    }
+
+    /**
+     * Maps each known column name in the header to its position. Unknown
+     * columns are ignored so callers can send extra data.
+     */
+    public static Map<String, Integer> parseHeader(String line) {
+        List<String> names = split(line);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            if (COLUMNS.contains(name)) {
+                positions.put(name, i);
+            }
+        }
+        return positions;
+    }
+
+    public static VehicleDTO parse(String line, Map<String, Integer> positions) {
+        List<String> fields = split(line);
+        VehicleDTO dto = new VehicleDTO();
+        dto.setBrand(field(fields, positions, "brand"));
+        dto.setSeries(field(fields, positions, "series"));
+        dto.setLastPlateDigit(field(fields, positions, "lastPlateDigit"));
+        dto.setModel(field(fields, positions, "model"));
+        dto.setType(field(fields, positions, "type"));
+        dto.setCapacity(field(fields, positions, "capacity"));
+        dto.setPrice(MapperUtils.toDouble(field(fields, positions, "price"), "Vehicle price"));
+        return dto;
+    }
+
+    public static String format(VehicleDTO dto) {
+        StringBuilder line = new StringBuilder();
+        line.append(dto.getId() == null ? "" : dto.getId()).append(',');
+        line.append(quote(dto.getBrand())).append(',');
+        line.append(quote(dto.getSeries())).append(',');
+        line.append(quote(dto.getLastPlateDigit())).append(',');
+        line.append(quote(dto.getModel())).append(',');
+        line.append(quote(dto.getType())).append(',');
+        line.append(quote(dto.getCapacity())).append(',');
+        line.append(dto.getPrice() == null ? "" : dto.getPrice());
+        return line.toString();
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> positions, String column) {
+        Integer position = positions.get(column);
+        if (position == null || position >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,28 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import co.edu.uniandes.dse.carmotor.dto.VehicleImportReportDTO;
+import co.edu.uniandes.dse.carmotor.services.VehicleImportReport;
+
+public final class VehicleImportReportMapper {
+    private VehicleImportReportMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static VehicleImportReportDTO toDTO(VehicleImportReport report) {
+        if (report == null) {
+            return null;
+        }
+        VehicleImportReportDTO dto = new VehicleImportReportDTO();
+        dto.setImported(report.getImported());
+        dto.setRejected(report.getRejected());
+        dto.setErrors(MapperUtils.mapList(report.getErrors(), VehicleImportReportMapper::toDTO));
+        return dto;
+    }
+
+    private static VehicleImportReportDTO.RowError toDTO(VehicleImportReport.RowError error) {
+        VehicleImportReportDTO.RowError dto = new VehicleImportReportDTO.RowError();
+        dto.setLine(error.getLine());
+        dto.setMessage(error.getMessage());
+        return dto;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package co.edu.uniandes.dse.carmotor.mappers;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.dto.VehicleDTO;
+import co.edu.uniandes.dse.carmotor.dto.VehicleDetailDTO;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+
+public final class VehicleMapper {
+    private VehicleMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static VehicleDTO toDTO(VehicleEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        VehicleDTO dto = new VehicleDTO();
+        copyToDTO(entity, dto);
+        return dto;
+    }
+
+    public static VehicleDetailDTO toDetailDTO(VehicleEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        VehicleDetailDTO dto = new VehicleDetailDTO();
+        copyToDTO(entity, dto);
+        dto.setPhotos(PhotoMapper.toDTOList(entity.getPhotos()));
+        dto.setBanks(BankingMapper.toDTOList(entity.getBanks()));
+        dto.setInsurancePolicies(InsurancePolicyMapper.toDTOList(entity.getInsurancePolicies()));
+        dto.setMaintenanceHistories(MaintenanceHistoryMapper.toDTOList(entity.getMaintenances()));
+        if (entity.getAssessor() != null) {
+            dto.getAssessors().add(AssessorMapper.toDTO(entity.getAssessor()));
+        }
+        dto.setTestDrives(TestDriveMapper.toDTOList(entity.getTestDrives()));
+        return dto;
+    }
+
+    public static VehicleEntity toEntity(VehicleDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        VehicleEntity entity = new VehicleEntity();
+        entity.setId(dto.getId());
+        entity.setVersion(dto.getVersion());
+        entity.setBrand(dto.getBrand());
+        entity.setSeries(dto.getSeries());
+        entity.setLastPlateDigit(dto.getLastPlateDigit());
+        entity.setModel(dto.getModel());
+        entity.setType(dto.getType());
+        entity.setCapacity(MapperUtils.toInteger(dto.getCapacity(), "Vehicle capacity"));
+        entity.setPrice(dto.getPrice());
+        return entity;
+    }
+
+    public static List<VehicleDTO> toDTOList(List<VehicleEntity> entities) {
+        return MapperUtils.mapList(entities, VehicleMapper::toDTO);
+    }
+
+    public static List<VehicleDetailDTO> toDetailDTOList(List<VehicleEntity> entities) {
+        return MapperUtils.mapList(entities, VehicleMapper::toDetailDTO);
+    }
+
+    public static List<VehicleEntity> toEntityList(List<VehicleDTO> dtos) {
+        return MapperUtils.mapList(dtos, VehicleMapper::toEntity);
+    }
+
+    private static void copyToDTO(VehicleEntity entity, VehicleDTO dto) {
+        dto.setId(entity.getId());
+        dto.setVersion(entity.getVersion());
+        dto.setBrand(entity.getBrand());
+        dto.setSeries(entity.getSeries());
+        dto.setLastPlateDigit(entity.getLastPlateDigit());
+        dto.setModel(entity.getModel());
+        dto.setType(entity.getType());
+        dto.setCapacity(MapperUtils.toText(entity.getCapacity()));
+        dto.setPrice(entity.getPrice());
+    }
+}
@@ -0,0 +1,183 @@
+package co.edu.uniandes.dse.carmotor.podam;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import co.edu.uniandes.dse.carmotor.entities.AssessorEntity;
+import co.edu.uniandes.dse.carmotor.entities.BankingEntity;
+import co.edu.uniandes.dse.carmotor.entities.InsurancePolicyEntity;
+import co.edu.uniandes.dse.carmotor.entities.LocationEntity;
+import co.edu.uniandes.dse.carmotor.entities.MaintenanceHistoryEntity;
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import co.edu.uniandes.dse.carmotor.entities.TestDriveEntity;
+import co.edu.uniandes.dse.carmotor.entities.UserEntity;
+import co.edu.uniandes.dse.carmotor.entities.UserRoleEnum;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import uk.co.jemos.podam.api.DataProviderStrategy;
+import uk.co.jemos.podam.api.PodamFactory;
+import uk.co.jemos.podam.api.PodamFactoryImpl;
+
+/**
+ * Builds entities with plausible values through Podam. Every attribute is
+ * drawn from its own source seeded from the dataset seed, so two generators
+ * with the same seed produce the same entities in the same order.
+ * Associations are left to the caller.
+ */
+public class DatasetGenerator {
+	private static final List<String> CITIES = List.of("Bogotá", "Medellín", "Cali", "Barranquilla",
+			"Cartagena", "Bucaramanga", "Pereira", "Manizales");
+	private static final List<String> STREETS = List.of("Calle", "Carrera", "Avenida", "Diagonal", "Transversal");
+	private static final List<String> FIRST_NAMES = List.of("Ana", "Carlos", "Daniela", "Felipe", "Juliana",
+			"Andrés", "Camila", "Santiago", "Valentina", "Mateo", "Laura", "Sebastián");
+	private static final List<String> LAST_NAMES = List.of("Gómez", "Rodríguez", "Martínez", "López", "García",
+			"Hernández", "Díaz", "Moreno", "Rojas", "Vargas", "Castro", "Ortiz");
+	private static final List<String> BRANDS = List.of("Chevrolet", "Renault", "Mazda", "Toyota", "Kia",
+			"Nissan", "Ford", "Hyundai", "Volkswagen", "Suzuki");
+	private static final List<String> SERIES = List.of("Base", "Sport", "Touring", "Limited", "Premium",
+			"Grand Touring", "Signature");
+	private static final List<String> TYPES = List.of("Sedan", "Hatchback", "SUV", "Pickup", "Van");
+	private static final List<String> AREAS = List.of("exterior", "interior", "engine", "trunk", "dashboard");
+	private static final List<String> BANKS = List.of("Bancolombia", "Davivienda", "Banco de Bogotá",
+			"BBVA", "Banco de Occidente", "Banco Popular");
+	private static final List<String> INSURERS = List.of("Sura", "Bolívar", "Allianz", "Mapfre", "AXA Colpatria",
+			"Liberty");
+	private static final List<String> MAINTENANCE_TYPES = List.of("Oil change", "Brake service", "Tire rotation",
+			"Battery replacement", "General inspection", "Alignment");
+	private static final List<String> SCHEDULES = List.of("Mon-Fri 8:00-18:00", "Mon-Sat 8:00-17:00",
+			"Mon-Sun 9:00-19:00");
+
+	private final long seed;
+	private final Random random;
+	private final PodamFactory factory = new PodamFactoryImpl();
+	private final AtomicLong sequence = new AtomicLong();
+
+	public DatasetGenerator(long seed) {
+		this.seed = seed;
+		this.random = new Random(seed);
+
+		register(LocationEntity.class, "name", r -> "CarMotor " + pick(r, CITIES) + " " + (r.nextInt(90) + 10));
+		register(LocationEntity.class, "address", DatasetGenerator::address);
+		register(LocationEntity.class, "phoneNumber", DatasetGenerator::phone);
+		register(LocationEntity.class, "schedule", r -> pick(r, SCHEDULES));
+
+		register(AssessorEntity.class, "name", DatasetGenerator::personName);
+		register(AssessorEntity.class, "uriPhoto", r -> "https://example.com/assessors/" + r.nextInt(1_000_000) + ".jpg");
+		register(AssessorEntity.class, "contactInfo", DatasetGenerator::phone);
+
+		register(VehicleEntity.class, "brand", r -> pick(r, BRANDS));
+		register(VehicleEntity.class, "series", r -> pick(r, SERIES));
+		register(VehicleEntity.class, "lastPlateDigit", r -> Integer.toString(r.nextInt(10)));
+		register(VehicleEntity.class, "model", r -> Integer.toString(2005 + r.nextInt(21)));
+		register(VehicleEntity.class, "type", r -> pick(r, TYPES));
+		register(VehicleEntity.class, "capacity", r -> 2 + r.nextInt(7));
+		// Skewed towards the cheaper end, like a used car catalog
+		register(VehicleEntity.class, "price", r -> Math.round(20_000_000 * Math.exp(r.nextDouble() * 2.5) / 1000) * 1000.0);
+
+		register(PhotoEntity.class, "uri", r -> "https://example.com/photos/" + Long.toHexString(r.nextLong()) + ".jpg");
+		register(PhotoEntity.class, "area", r -> pick(r, AREAS));
+
+		register(BankingEntity.class, "name", r -> pick(r, BANKS));
+		register(BankingEntity.class, "uriLogo", r -> "https://example.com/banks/" + r.nextInt(100) + ".png");
+		register(BankingEntity.class, "assessorPhone", DatasetGenerator::phone);
+
+		register(InsurancePolicyEntity.class, "price", r -> 500_000 + r.nextInt(4_500) * 1000.0);
+		register(InsurancePolicyEntity.class, "premiumRate", r -> Math.round((0.02 + r.nextDouble() * 0.08) * 1000) / 1000.0);
+		register(InsurancePolicyEntity.class, "insuranceCompany", r -> pick(r, INSURERS));
+
+		register(MaintenanceHistoryEntity.class, "type", r -> pick(r, MAINTENANCE_TYPES));
+		register(MaintenanceHistoryEntity.class, "address", DatasetGenerator::address);
+
+		register(UserEntity.class, "name", DatasetGenerator::personName);
+		register(UserEntity.class, "email", r -> "user" + sequence.incrementAndGet() + "@example.com");
+		register(UserEntity.class, "identifier", r -> Long.toString(1_000_000_000L + r.nextInt(900_000_000)));
+		register(UserEntity.class, "phone", DatasetGenerator::phone);
+		register(UserEntity.class, "role", r -> r.nextInt(50) == 0 ? UserRoleEnum.MANAGER : UserRoleEnum.CLIENT);
+	}
+
+	/**
+	 * Source for structural choices such as which vehicle a test drive uses.
+	 */
+	public Random random() {
+		return random;
+	}
+
+	public LocationEntity location() {
+		return factory.manufacturePojo(LocationEntity.class);
+	}
+
+	public AssessorEntity assessor() {
+		return factory.manufacturePojo(AssessorEntity.class);
+	}
+
+	public VehicleEntity vehicle() {
+		return factory.manufacturePojo(VehicleEntity.class);
+	}
+
+	/**
+	 * Photo hosted elsewhere; generated datasets have no stored content.
+	 */
+	public PhotoEntity photo() {
+		PhotoEntity photo = factory.manufacturePojo(PhotoEntity.class);
+		photo.setContentHash(null);
+		photo.setContentType(null);
+		photo.setContentLength(null);
+		return photo;
+	}
+
+	public BankingEntity banking() {
+		return factory.manufacturePojo(BankingEntity.class);
+	}
+
+	public InsurancePolicyEntity insurancePolicy() {
+		InsurancePolicyEntity policy = factory.manufacturePojo(InsurancePolicyEntity.class);
+		policy.setDuration(Date.from(Instant.parse("2025-01-01T00:00:00Z")
+				.plus(Duration.ofDays(365L + random.nextInt(3 * 365)))));
+		return policy;
+	}
+
+	public MaintenanceHistoryEntity maintenanceHistory() {
+		MaintenanceHistoryEntity maintenance = factory.manufacturePojo(MaintenanceHistoryEntity.class);
+		maintenance.setDate(Date.from(Instant.parse("2015-01-01T00:00:00Z").plus(Duration.ofDays(random.nextInt(10 * 365)))));
+		return maintenance;
+	}
+
+	public UserEntity user() {
+		return factory.manufacturePojo(UserEntity.class);
+	}
+
+	public TestDriveEntity testDrive(Instant start, Duration length) {
+		TestDriveEntity testDrive = factory.manufacturePojo(TestDriveEntity.class);
+		testDrive.setDate(Date.from(start));
+		testDrive.setStartTime(start);
+		testDrive.setEndTime(start.plus(length));
+		return testDrive;
+	}
+
+	private <T> void register(Class<?> type, String attribute, Function<Random, T> generator) {
+		DataProviderStrategy strategy = factory.getStrategy();
+		long attributeSeed = seed * 31 + (type.getName() + "." + attribute).hashCode();
+		strategy.addOrReplaceAttributeStrategy(type, attribute, new SeededAttributeStrategy<>(attributeSeed, generator));
+	}
+
+	private static <T> T pick(Random random, List<T> values) {
+		return values.get(random.nextInt(values.size()));
+	}
+
+	private static String personName(Random random) {
+		return pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES) + " " + pick(random, LAST_NAMES);
+	}
+
+	private static String address(Random random) {
+		return pick(random, STREETS) + " " + (1 + random.nextInt(180)) + " # " + (1 + random.nextInt(120)) + "-"
+				+ (1 + random.nextInt(99)) + ", " + pick(random, CITIES);
+	}
+
+	private static String phone(Random random) {
+		return "3" + (10 + random.nextInt(40)) + " " + (1_000_000 + random.nextInt(9_000_000));
+	}
+}
\ No newline at end of file
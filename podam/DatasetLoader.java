@@ -0,0 +1,213 @@
+package co.edu.uniandes.dse.carmotor.podam;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.uniandes.dse.carmotor.entities.AssessorEntity;
+import co.edu.uniandes.dse.carmotor.entities.BankingEntity;
+import co.edu.uniandes.dse.carmotor.entities.InsurancePolicyEntity;
+import co.edu.uniandes.dse.carmotor.entities.LocationEntity;
+import co.edu.uniandes.dse.carmotor.entities.MaintenanceHistoryEntity;
+import co.edu.uniandes.dse.carmotor.entities.TestDriveEntity;
+import co.edu.uniandes.dse.carmotor.entities.UserEntity;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a generated dataset in chunks, each in its own transaction and
+ * flushed as JDBC batches, clearing the persistence context in between so
+ * memory stays flat. Only the ids needed to link later rows are kept.
+ *
+ * <p>
+ * Test drives are booked in consecutive one-hour slots per location,
+ * starting at the given instant, so none of them collide. Callers default to
+ * {@link #DEFAULT_START} so the same seed always yields the same rows; rows
+ * are written directly, so a start in the past is fine.
+ */
+@Slf4j
+@Component
+public class DatasetLoader {
+	public static final String DEFAULT_START = "2025-01-01T00:00:00Z";
+
+	private static final int CHUNK_SIZE = 500;
+	private static final Duration TEST_DRIVE_LENGTH = Duration.ofMinutes(45);
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	public void load(DatasetScale scale, long seed, Instant start) {
+		if (scale.getLocations() < 1) {
+			throw new IllegalArgumentException("A dataset needs at least one location");
+		}
+		log.info("The dataset load begins with seed {} and {}", seed, scale);
+		DatasetGenerator generator = new DatasetGenerator(seed);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		List<Long> locationIds = new ArrayList<>();
+		List<List<Long>> assessorIds = new ArrayList<>();
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int l = 0; l < scale.getLocations(); l++) {
+				LocationEntity location = generator.location();
+				entityManager.persist(location);
+				locationIds.add(location.getId());
+				List<Long> ids = new ArrayList<>();
+				for (int a = 0; a < scale.getAssessorsPerLocation(); a++) {
+					AssessorEntity assessor = generator.assessor();
+					assessor.setLocation(location);
+					entityManager.persist(assessor);
+					ids.add(assessor.getId());
+				}
+				assessorIds.add(ids);
+			}
+			entityManager.flush();
+			entityManager.clear();
+		});
+
+		// Vehicles go round-robin over the locations
+		List<List<Long>> vehicleIds = new ArrayList<>();
+		for (int l = 0; l < locationIds.size(); l++) {
+			vehicleIds.add(new ArrayList<>());
+		}
+		List<Long> soldVehicleIds = new ArrayList<>();
+		for (int first = 0; first < scale.getVehicles(); first += CHUNK_SIZE) {
+			int from = first;
+			int to = Math.min(scale.getVehicles(), first + CHUNK_SIZE);
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int v = from; v < to; v++) {
+					int l = v % locationIds.size();
+					VehicleEntity vehicle = vehicle(generator, scale);
+					vehicle.setLocation(entityManager.getReference(LocationEntity.class, locationIds.get(l)));
+					List<Long> assessors = assessorIds.get(l);
+					if (!assessors.isEmpty()) {
+						Long assessorId = assessors.get(generator.random().nextInt(assessors.size()));
+						vehicle.setAssessor(entityManager.getReference(AssessorEntity.class, assessorId));
+					}
+					entityManager.persist(vehicle);
+					vehicleIds.get(l).add(vehicle.getId());
+					if (generator.random().nextInt(100) < scale.getSoldVehiclePercent()) {
+						soldVehicleIds.add(vehicle.getId());
+					}
+				}
+				entityManager.flush();
+				entityManager.clear();
+			});
+		}
+		log.info("{} vehicles loaded", scale.getVehicles());
+
+		// Each sold vehicle has exactly one owner
+		List<Long> userIds = new ArrayList<>();
+		for (int first = 0; first < scale.getUsers(); first += CHUNK_SIZE) {
+			int from = first;
+			int to = Math.min(scale.getUsers(), first + CHUNK_SIZE);
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int u = from; u < to; u++) {
+					UserEntity user = generator.user();
+					for (int s = u; s < soldVehicleIds.size(); s += scale.getUsers()) {
+						user.getVehicles().add(entityManager.getReference(VehicleEntity.class, soldVehicleIds.get(s)));
+					}
+					entityManager.persist(user);
+					userIds.add(user.getId());
+				}
+				entityManager.flush();
+				entityManager.clear();
+			});
+		}
+		log.info("{} users loaded", scale.getUsers());
+
+		if (!userIds.isEmpty()) {
+			loadTestDrives(generator, transactionTemplate, scale, start, locationIds, vehicleIds, userIds);
+		}
+		log.info("The dataset load ends");
+	}
+
+	private VehicleEntity vehicle(DatasetGenerator generator, DatasetScale scale) {
+		VehicleEntity vehicle = generator.vehicle();
+		for (int i = 0; i < scale.getPhotosPerVehicle(); i++) {
+			vehicle.getPhotos().add(generator.photo());
+		}
+		for (int i = 0; i < scale.getBanksPerVehicle(); i++) {
+			BankingEntity banking = generator.banking();
+			entityManager.persist(banking);
+			vehicle.getBanks().add(banking);
+		}
+		for (int i = 0; i < scale.getInsurancePoliciesPerVehicle(); i++) {
+			InsurancePolicyEntity policy = generator.insurancePolicy();
+			entityManager.persist(policy);
+			vehicle.getInsurancePolicies().add(policy);
+		}
+		for (int i = 0; i < scale.getMaintenancesPerVehicle(); i++) {
+			MaintenanceHistoryEntity maintenance = generator.maintenanceHistory();
+			entityManager.persist(maintenance);
+			vehicle.getMaintenances().add(maintenance);
+		}
+		return vehicle;
+	}
+
+	/**
+	 * Test drives are written location by location. Their links to the
+	 * location are inserted as JDBC batches straight into the join table:
+	 * adding to the location's list would load it whole and make Hibernate
+	 * rewrite every link of the location on each flush.
+	 */
+	private void loadTestDrives(DatasetGenerator generator, TransactionTemplate transactionTemplate,
+			DatasetScale scale, Instant start, List<Long> locationIds, List<List<Long>> vehicleIds,
+			List<Long> userIds) {
+		int total = scale.getUsers() * scale.getTestDrivesPerUser();
+		for (int l = 0; l < locationIds.size(); l++) {
+			List<Long> vehicles = vehicleIds.get(l);
+			int count = total / locationIds.size() + (l < total % locationIds.size() ? 1 : 0);
+			if (vehicles.isEmpty()) {
+				continue;
+			}
+			Long locationId = locationIds.get(l);
+			for (int first = 0; first < count; first += CHUNK_SIZE) {
+				int from = first;
+				int to = Math.min(count, first + CHUNK_SIZE);
+				transactionTemplate.executeWithoutResult(status -> {
+					List<Long> testDriveIds = new ArrayList<>(to - from);
+					for (int slot = from; slot < to; slot++) {
+						TestDriveEntity testDrive = generator.testDrive(start.plus(Duration.ofHours(slot)),
+								TEST_DRIVE_LENGTH);
+						Long userId = userIds.get(generator.random().nextInt(userIds.size()));
+						Long vehicleId = vehicles.get(generator.random().nextInt(vehicles.size()));
+						testDrive.setUser(entityManager.getReference(UserEntity.class, userId));
+						testDrive.getVehicles().add(entityManager.getReference(VehicleEntity.class, vehicleId));
+						entityManager.persist(testDrive);
+						testDriveIds.add(testDrive.getId());
+					}
+					entityManager.flush();
+					insertTestDriveLinks(locationId, testDriveIds);
+					entityManager.clear();
+				});
+			}
+		}
+		log.info("{} test drives loaded", total);
+	}
+
+	private void insertTestDriveLinks(Long locationId, List<Long> testDriveIds) {
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement("insert into "
+					+ LocationEntity.TEST_DRIVES_TABLE + " (location_entity_id, test_drives_id) values (?, ?)")) {
+				for (Long testDriveId : testDriveIds) {
+					statement.setLong(1, locationId);
+					statement.setLong(2, testDriveId);
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		});
+	}
+}
\ No newline at end of file
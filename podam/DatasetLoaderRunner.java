@@ -0,0 +1,47 @@
+package co.edu.uniandes.dse.carmotor.podam;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads a generated dataset into the configured database when the
+ * application starts with the dataset profile. The same seed and sizes
+ * always produce the same rows; test drives start at a fixed instant
+ * unless carmotor.dataset.start is given.
+ */
+@Component
+@Profile("dataset")
+public class DatasetLoaderRunner implements ApplicationRunner {
+	@Value("${carmotor.dataset.seed:42}")
+	private long seed;
+
+	@Value("${carmotor.dataset.vehicles:10000}")
+	private int vehicles;
+
+	@Value("${carmotor.dataset.locations:20}")
+	private int locations;
+
+	@Value("${carmotor.dataset.users:5000}")
+	private int users;
+
+	@Value("${carmotor.dataset.start:" + DatasetLoader.DEFAULT_START + "}")
+	private String start;
+
+	@Autowired
+	private DatasetLoader datasetLoader;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		DatasetScale scale = new DatasetScale();
+		scale.setVehicles(vehicles);
+		scale.setLocations(locations);
+		scale.setUsers(users);
+		datasetLoader.load(scale, seed, Instant.parse(start));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package co.edu.uniandes.dse.carmotor.podam;
+
+import lombok.Data;
+
+/**
+ * Size of a generated dataset. The defaults give about 100 thousand rows;
+ * 100 thousand vehicles and 50 thousand users give about a million.
+ */
+@Data
+public class DatasetScale {
+	private int locations = 20;
+	private int assessorsPerLocation = 5;
+	private int vehicles = 10_000;
+	private int photosPerVehicle = 3;
+	private int banksPerVehicle = 1;
+	private int insurancePoliciesPerVehicle = 1;
+	private int maintenancesPerVehicle = 2;
+	private int users = 5_000;
+	private int soldVehiclePercent = 25;
+	private int testDrivesPerUser = 2;
+
+	/**
+	 * Default proportions for the given number of vehicles: one location per
+	 * 500 vehicles and one user per two vehicles.
+	 */
+	public static DatasetScale forVehicles(int vehicles) {
+		DatasetScale scale = new DatasetScale();
+		scale.setVehicles(vehicles);
+		scale.setLocations(Math.max(1, vehicles / 500));
+		scale.setUsers(Math.max(1, vehicles / 2));
+		return scale;
+	}
+}
\ No newline at end of file
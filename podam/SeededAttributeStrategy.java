@@ -0,0 +1,28 @@
+package co.edu.uniandes.dse.carmotor.podam;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import uk.co.jemos.podam.common.AttributeStrategy;
+
+/**
+ * Attribute strategy backed by its own seeded random source, so an attribute
+ * gets the same sequence of values on every run whatever order Podam fills
+ * the attributes in.
+ */
+public class SeededAttributeStrategy<T> implements AttributeStrategy<T> {
+	private final Random random;
+	private final Function<Random, T> generator;
+
+	public SeededAttributeStrategy(long seed, Function<Random, T> generator) {
+		this.random = new Random(seed);
+		this.generator = generator;
+	}
+
+	@Override
+	public synchronized T getValue(Class<?> attrType, List<Annotation> attrAnnotations) {
+		return generator.apply(random);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package co.edu.uniandes.dse.carmotor.projections;
+
+public interface AssessorSummary {
+    Long getId();
+    String getName();
+    String getContactInfo();
+}
@@ -0,0 +1,8 @@
+package co.edu.uniandes.dse.carmotor.projections;
+
+public interface LocationSummary {
+    Long getId();
+    String getName();
+    String getAddress();
+    String getPhoneNumber();
+}
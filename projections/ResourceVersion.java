@@ -0,0 +1,18 @@
+package co.edu.uniandes.dse.carmotor.projections;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Validators for a resource representation: an entity tag that changes
+ * whenever the entity or any of the associations shown with it changes, and
+ * the most recent modification time among them.
+ */
+@Data
+@AllArgsConstructor
+public class ResourceVersion {
+    private String tag;
+    private Instant lastModified;
+}
@@ -0,0 +1,16 @@
+package co.edu.uniandes.dse.carmotor.projections;
+
+import java.time.Instant;
+
+/**
+ * Time slot of a test drive on one vehicle or one location.
+ */
+public interface TestDriveSlot {
+    Long getTestDriveId();
+
+    Long getResourceId();
+
+    Instant getStartTime();
+
+    Instant getEndTime();
+}
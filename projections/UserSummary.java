@@ -0,0 +1,10 @@
+package co.edu.uniandes.dse.carmotor.projections;
+
+import co.edu.uniandes.dse.carmotor.entities.UserRoleEnum;
+
+public interface UserSummary {
+    Long getId();
+    String getName();
+    String getEmail();
+    UserRoleEnum getRole();
+}
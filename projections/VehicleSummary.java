@@ -0,0 +1,15 @@
+package co.edu.uniandes.dse.carmotor.projections;
+
+/**
+ * Read-only view of the catalog columns of a vehicle. Spring Data selects only
+ * these columns, so listings built from it never hydrate a VehicleEntity.
+ */
+public interface VehicleSummary {
+    Long getId();
+    String getBrand();
+    String getSeries();
+    String getModel();
+    String getType();
+    Integer getCapacity();
+    Double getPrice();
+}
@@ -1,11 +1,27 @@
-package co.edu.uniandes.dse.carmotor.repositories;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import co.edu.uniandes.dse.carmotor.entities.AssessorEntity;
-
-@Repository
-public interface AssessorRepository extends JpaRepository<AssessorEntity, Long> {
-
-}
\ No newline at end of file
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.AssessorEntity;
+import co.edu.uniandes.dse.carmotor.projections.AssessorSummary;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface AssessorRepository extends JpaRepository<AssessorEntity, Long> {
+    List<AssessorSummary> findProjectedByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    boolean existsByIdAndLocationId(Long id, Long locationId);
+
+    /**
+     * Loads the entity and increments its version when the transaction
+     * commits, so concurrent changes to its associations conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<AssessorEntity> findAndIncrementVersionById(Long id);
+}
@@ -1,11 +1,22 @@
-package co.edu.uniandes.dse.carmotor.repositories;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import co.edu.uniandes.dse.carmotor.entities.BankingEntity;
-
-@Repository
-public interface BankingRepository extends JpaRepository<BankingEntity, Long> {
-    
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.BankingEntity;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface BankingRepository extends JpaRepository<BankingEntity, Long> {
+    /**
+     * The bank list is small and rarely changes, so its result is kept in
+     * the query cache when the second-level cache is enabled.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<BankingEntity> findAll();
 }
\ No newline at end of file
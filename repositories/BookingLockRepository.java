@@ -0,0 +1,21 @@
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.BookingLockEntity;
+import co.edu.uniandes.dse.carmotor.entities.BookingResourceEnum;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface BookingLockRepository extends JpaRepository<BookingLockEntity, Long> {
+    /**
+     * Loads the lock row of the resource and holds a write lock on it until
+     * the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<BookingLockEntity> findForUpdateByResourceAndResourceId(BookingResourceEnum resource, Long resourceId);
+}
\ No newline at end of file
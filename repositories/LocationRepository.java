@@ -1,11 +1,33 @@
-package co.edu.uniandes.dse.carmotor.repositories;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import co.edu.uniandes.dse.carmotor.entities.LocationEntity;
-
-@Repository
-public interface LocationRepository extends JpaRepository<LocationEntity, Long> {
-    
-}
\ No newline at end of file
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.LocationEntity;
+import co.edu.uniandes.dse.carmotor.projections.LocationSummary;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface LocationRepository extends JpaRepository<LocationEntity, Long>, ResourceVersionRepository {
+    List<LocationSummary> findProjectedByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Loads the entity and increments its version when the transaction
+     * commits, so concurrent changes to its associations conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<LocationEntity> findAndIncrementVersionById(Long id);
+
+    @Query("select l.id from LocationEntity l join l.testDrives t where t.id = :testDriveId")
+    List<Long> findIdsByTestDriveId(@Param("testDriveId") Long testDriveId);
+
+    @Query("select count(t) > 0 from LocationEntity l join l.testDrives t where l.id = :locationId and t.id = :testDriveId")
+    boolean existsTestDrive(@Param("locationId") Long locationId, @Param("testDriveId") Long testDriveId);
+}
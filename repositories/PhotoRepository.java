@@ -1,11 +1,29 @@
-package co.edu.uniandes.dse.carmotor.repositories;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
-
-@Repository
-public interface PhotoRepository extends JpaRepository<PhotoEntity, Long> {
-    
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface PhotoRepository extends JpaRepository<PhotoEntity, Long> {
+    boolean existsByContentHash(String contentHash);
+
+    @Query("select p.contentHash from PhotoEntity p where p.id in :ids and p.contentHash is not null")
+    List<String> findContentHashesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Loads the entity and increments its version when the transaction
+     * commits, so concurrent changes to its associations conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<PhotoEntity> findAndIncrementVersionById(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.PhotoVariantEntity;
+
+@Repository
+public interface PhotoVariantRepository extends JpaRepository<PhotoVariantEntity, Long> {
+    boolean existsByContentHash(String contentHash);
+
+    List<PhotoVariantEntity> findByPhotoId(Long photoId);
+
+    @Query("select v.contentHash from PhotoVariantEntity v where v.photo.id in :photoIds")
+    List<String> findContentHashesByPhotoIdIn(@Param("photoIds") Collection<Long> photoIds);
+
+    @Modifying
+    @Query("delete from PhotoVariantEntity v where v.photo.id in :photoIds")
+    int deleteByPhotoIdIn(@Param("photoIds") Collection<Long> photoIds);
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import co.edu.uniandes.dse.carmotor.entities.BaseEntity;
+import co.edu.uniandes.dse.carmotor.projections.ResourceVersion;
+
+public interface ResourceVersionRepository {
+    /**
+     * Reads the version of the entity together with the count, version sum and
+     * latest modification of each listed association, in a single query and
+     * without loading any of the rows.
+     */
+    Optional<ResourceVersion> findResourceVersion(Class<? extends BaseEntity> type, Long id, List<String> associations);
+}
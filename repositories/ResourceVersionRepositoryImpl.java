@@ -0,0 +1,51 @@
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.util.DigestUtils;
+
+import co.edu.uniandes.dse.carmotor.entities.BaseEntity;
+import co.edu.uniandes.dse.carmotor.projections.ResourceVersion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class ResourceVersionRepositoryImpl implements ResourceVersionRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<ResourceVersion> findResourceVersion(Class<? extends BaseEntity> type, Long id,
+            List<String> associations) {
+        String entity = type.getSimpleName();
+        StringBuilder jpql = new StringBuilder("select e.version, e.lastModified");
+        for (String association : associations) {
+            String join = " from " + entity + " x join x." + association + " c where x.id = e.id)";
+            jpql.append(", (select count(c)").append(join);
+            jpql.append(", (select coalesce(sum(c.version), 0)").append(join);
+            jpql.append(", (select max(c.lastModified)").append(join);
+        }
+        jpql.append(" from ").append(entity).append(" e where e.id = :id");
+
+        List<Object[]> rows = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("id", id)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Object[] row = rows.get(0);
+        StringBuilder validator = new StringBuilder(entity).append(':').append(id);
+        Instant lastModified = null;
+        for (Object value : row) {
+            validator.append(':').append(value);
+            if (value instanceof Instant && (lastModified == null || ((Instant) value).isAfter(lastModified))) {
+                lastModified = (Instant) value;
+            }
+        }
+        String tag = DigestUtils.md5DigestAsHex(validator.toString().getBytes(StandardCharsets.UTF_8));
+        return Optional.of(new ResourceVersion(tag, lastModified));
+    }
+}
@@ -1,11 +1,60 @@
-package co.edu.uniandes.dse.carmotor.repositories;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import co.edu.uniandes.dse.carmotor.entities.TestDriveEntity;
-
-@Repository
-public interface TestDriveRepository extends JpaRepository<TestDriveEntity, Long> {
-
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.TestDriveEntity;
+import co.edu.uniandes.dse.carmotor.projections.TestDriveSlot;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface TestDriveRepository extends JpaRepository<TestDriveEntity, Long> {
+    /**
+     * Loads the entity and increments its version when the transaction
+     * commits, so concurrent changes to its associations conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<TestDriveEntity> findAndIncrementVersionById(Long id);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    boolean existsByIdAndVehiclesId(Long id, Long vehicleId);
+
+    @Query("select t.id as testDriveId, v.id as resourceId, t.startTime as startTime, t.endTime as endTime "
+            + "from TestDriveEntity t join t.vehicles v where v.id in :vehicleIds and t.id <> :testDriveId "
+            + "and t.startTime < :end and t.endTime > :start order by t.startTime")
+    List<TestDriveSlot> findVehicleSlotsOverlapping(@Param("vehicleIds") Collection<Long> vehicleIds,
+            @Param("testDriveId") Long testDriveId, @Param("start") Instant start, @Param("end") Instant end);
+
+    @Query("select t.id as testDriveId, l.id as resourceId, t.startTime as startTime, t.endTime as endTime "
+            + "from LocationEntity l join l.testDrives t where l.id in :locationIds and t.id <> :testDriveId "
+            + "and t.startTime < :end and t.endTime > :start order by t.startTime")
+    List<TestDriveSlot> findLocationSlotsOverlapping(@Param("locationIds") Collection<Long> locationIds,
+            @Param("testDriveId") Long testDriveId, @Param("start") Instant start, @Param("end") Instant end);
+
+    /**
+     * Test drives of the vehicle overlapping [start, end), in start order.
+     */
+    @Query("select t.id as testDriveId, v.id as resourceId, t.startTime as startTime, t.endTime as endTime "
+            + "from TestDriveEntity t join t.vehicles v where v.id = :vehicleId "
+            + "and t.startTime < :end and t.endTime > :start order by t.startTime")
+    List<TestDriveSlot> findVehicleSlotsBetween(@Param("vehicleId") Long vehicleId, @Param("start") Instant start,
+            @Param("end") Instant end);
+
+    /**
+     * Test drives at the location overlapping [start, end), in start order.
+     */
+    @Query("select t.id as testDriveId, l.id as resourceId, t.startTime as startTime, t.endTime as endTime "
+            + "from LocationEntity l join l.testDrives t where l.id = :locationId "
+            + "and t.startTime < :end and t.endTime > :start order by t.startTime")
+    List<TestDriveSlot> findLocationSlotsBetween(@Param("locationId") Long locationId, @Param("start") Instant start,
+            @Param("end") Instant end);
 }
\ No newline at end of file
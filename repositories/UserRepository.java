@@ -1,11 +1,30 @@
-package co.edu.uniandes.dse.carmotor.repositories;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import co.edu.uniandes.dse.carmotor.entities.UserEntity;
-
-@Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
-    
-}
\ No newline at end of file
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.UserEntity;
+import co.edu.uniandes.dse.carmotor.projections.UserSummary;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface UserRepository extends JpaRepository<UserEntity, Long> {
+    List<UserSummary> findProjectedByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("select count(v) > 0 from UserEntity u join u.vehicles v where u.id = :userId and v.id = :vehicleId")
+    boolean existsVehicle(@Param("userId") Long userId, @Param("vehicleId") Long vehicleId);
+
+    /**
+     * Loads the entity and increments its version when the transaction
+     * commits, so concurrent changes to its associations conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<UserEntity> findAndIncrementVersionById(Long id);
+}
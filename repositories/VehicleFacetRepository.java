@@ -0,0 +1,15 @@
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+
+public interface VehicleFacetRepository {
+    /**
+     * Counts the vehicles matching the specification grouped by the given
+     * attribute, most frequent values first.
+     */
+    Map<String, Long> countByFacet(Specification<VehicleEntity> specification, String attribute);
+}
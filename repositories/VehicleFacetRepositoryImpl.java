@@ -0,0 +1,49 @@
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class VehicleFacetRepositoryImpl implements VehicleFacetRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<String, Long> countByFacet(Specification<VehicleEntity> specification, String attribute) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<VehicleEntity> root = query.from(VehicleEntity.class);
+
+        Path<String> facet = root.get(attribute);
+        Expression<Long> count = cb.count(root);
+        query.multiselect(facet, count);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(facet);
+        query.orderBy(cb.desc(count), cb.asc(facet));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            String value = row.get(0, String.class);
+            if (value != null) {
+                counts.put(value, row.get(1, Long.class));
+            }
+        }
+        return counts;
+    }
+}
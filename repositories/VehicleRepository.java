@@ -1,11 +1,141 @@
-package co.edu.uniandes.dse.carmotor.repositories;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
-
-@Repository
-public interface VehicleRepository extends JpaRepository<VehicleEntity, Long> {
-    
-}
\ No newline at end of file
+package co.edu.uniandes.dse.carmotor.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+
+import co.edu.uniandes.dse.carmotor.entities.TestDriveEntity;
+import co.edu.uniandes.dse.carmotor.entities.UserEntity;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.projections.VehicleSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface VehicleRepository extends JpaRepository<VehicleEntity, Long>,
+        JpaSpecificationExecutor<VehicleEntity>, VehicleFacetRepository, ResourceVersionRepository {
+    @Override
+    @EntityGraph(VehicleEntity.CATALOG_GRAPH)
+    List<VehicleEntity> findAll();
+
+    @EntityGraph(VehicleEntity.CATALOG_GRAPH)
+    List<VehicleEntity> findAllByOrderByIdAsc(Pageable pageable);
+
+    @EntityGraph(VehicleEntity.CATALOG_GRAPH)
+    List<VehicleEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @EntityGraph(VehicleEntity.CATALOG_GRAPH)
+    List<VehicleEntity> findAllByOrderByPriceAscIdAsc(Pageable pageable);
+
+    @EntityGraph(VehicleEntity.CATALOG_GRAPH)
+    @Query("select v from VehicleEntity v where v.price > :price or (v.price = :price and v.id > :id) order by v.price asc, v.id asc")
+    List<VehicleEntity> findByPriceKeysetAfter(@Param("price") Double price, @Param("id") Long id, Pageable pageable);
+
+    List<VehicleSummary> findAllProjectedByOrderByIdAsc();
+
+    List<VehicleSummary> findProjectedByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    boolean existsByIdAndAssessorId(Long id, Long assessorId);
+
+    boolean existsByIdAndLocationId(Long id, Long locationId);
+
+    @Query("select count(p) > 0 from VehicleEntity v join v.photos p where v.id = :vehicleId and p.id = :photoId")
+    boolean existsPhoto(@Param("vehicleId") Long vehicleId, @Param("photoId") Long photoId);
+
+    @Query("select count(b) > 0 from VehicleEntity v join v.banks b where v.id = :vehicleId and b.id = :bankingId")
+    boolean existsBanking(@Param("vehicleId") Long vehicleId, @Param("bankingId") Long bankingId);
+
+    @Query("select count(i) > 0 from VehicleEntity v join v.insurancePolicies i "
+            + "where v.id = :vehicleId and i.id = :insurancePolicyId")
+    boolean existsInsurancePolicy(@Param("vehicleId") Long vehicleId,
+            @Param("insurancePolicyId") Long insurancePolicyId);
+
+    @Query("select count(m) > 0 from VehicleEntity v join v.maintenances m "
+            + "where v.id = :vehicleId and m.id = :maintenanceHistoryId")
+    boolean existsMaintenanceHistory(@Param("vehicleId") Long vehicleId,
+            @Param("maintenanceHistoryId") Long maintenanceHistoryId);
+
+    /**
+     * Forward-only read of the whole catalog for exports. Must be consumed
+     * inside a transaction and closed afterwards.
+     */
+    @EntityGraph(VehicleEntity.CATALOG_GRAPH)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false") })
+    @Query("select v from VehicleEntity v order by v.id asc")
+    Stream<VehicleEntity> streamAllByOrderByIdAsc();
+
+    /**
+     * Loads the entity and increments its version when the transaction
+     * commits, so concurrent changes to its associations conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<VehicleEntity> findAndIncrementVersionById(Long id);
+
+    @Query("select p.id from VehicleEntity v join v.photos p where v.id = :vehicleId")
+    List<Long> findPhotoIdsById(@Param("vehicleId") Long vehicleId);
+
+    /**
+     * Set-based removal of the join rows that reference a vehicle, so it can
+     * be deleted with a fixed number of statements. The query space hint on
+     * these native deletes keeps them from invalidating the whole
+     * second-level cache.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VehicleEntity.PHOTOS_TABLE))
+    @Query(value = "delete from " + VehicleEntity.PHOTOS_TABLE + " where vehicle_entity_id = :vehicleId",
+            nativeQuery = true)
+    int deletePhotoLinks(@Param("vehicleId") Long vehicleId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VehicleEntity.BANKS_TABLE))
+    @Query(value = "delete from " + VehicleEntity.BANKS_TABLE + " where vehicle_entity_id = :vehicleId",
+            nativeQuery = true)
+    int deleteBankingLinks(@Param("vehicleId") Long vehicleId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VehicleEntity.INSURANCE_POLICIES_TABLE))
+    @Query(value = "delete from " + VehicleEntity.INSURANCE_POLICIES_TABLE + " where vehicle_entity_id = :vehicleId",
+            nativeQuery = true)
+    int deleteInsurancePolicyLinks(@Param("vehicleId") Long vehicleId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = VehicleEntity.MAINTENANCES_TABLE))
+    @Query(value = "delete from " + VehicleEntity.MAINTENANCES_TABLE + " where vehicle_entity_id = :vehicleId",
+            nativeQuery = true)
+    int deleteMaintenanceHistoryLinks(@Param("vehicleId") Long vehicleId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TestDriveEntity.VEHICLES_TABLE))
+    @Query(value = "delete from " + TestDriveEntity.VEHICLES_TABLE + " where vehicles_id = :vehicleId",
+            nativeQuery = true)
+    int deleteTestDriveLinks(@Param("vehicleId") Long vehicleId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = UserEntity.VEHICLES_TABLE))
+    @Query(value = "delete from " + UserEntity.VEHICLES_TABLE + " where vehicles_id = :vehicleId",
+            nativeQuery = true)
+    int deleteUserLinks(@Param("vehicleId") Long vehicleId);
+
+    /**
+     * Deletes the row without loading the entity. Clears the persistence
+     * context, so entities read before the call must not be used afterwards.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("delete from VehicleEntity v where v.id = :vehicleId")
+    int deleteInBulkById(@Param("vehicleId") Long vehicleId);
+}
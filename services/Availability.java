@@ -0,0 +1,23 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+public class Availability {
+    private Instant from;
+    private Instant to;
+    private List<TimeWindow> busy = new ArrayList<>();
+    private List<TimeWindow> free = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class TimeWindow {
+        private Instant start;
+        private Instant end;
+    }
+}
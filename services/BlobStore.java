@@ -0,0 +1,223 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoRepository;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoVariantRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed store for uploaded binaries. A blob lives under the
+ * SHA-256 of its bytes, so identical uploads share one file and a stored
+ * blob never changes. Entities keep only the hash.
+ *
+ * <p>
+ * Blobs are removed once no row references them. A blob whose row has not
+ * been committed yet is pinned so a concurrent removal cannot delete it
+ * before the row becomes visible.
+ */
+@Slf4j
+@Component
+public class BlobStore {
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int STRIPES = 64;
+
+    @Value("${carmotor.blobs.directory:data/blobs}")
+    private String directory;
+
+    @Value("${carmotor.blobs.max-size:10485760}")
+    private long maxSize;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private PhotoVariantRepository photoVariantRepository;
+
+    private final Object[] stripes = new Object[STRIPES];
+    private final Map<String, Integer> pins = new ConcurrentHashMap<>();
+
+    public BlobStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Streams the content to disk while hashing it and keeps it under its
+     * hash. Content that is already stored is not written twice.
+     *
+     * <p>
+     * Inside a transaction the blob stays pinned until the transaction
+     * completes. Outside of one it stays pinned until {@link #unpin} is
+     * called, once the transaction saving its row has completed.
+     */
+    public StoredBlob store(InputStream content) throws IOException, IllegalOperationException {
+        Path root = root();
+        Path incoming = Files.createTempFile(Files.createDirectories(root.resolve("tmp")), "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(incoming), digest)) {
+                size = copy(content, out);
+            }
+            if (size == 0) {
+                throw new IllegalOperationException("Uploaded content is empty");
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(hash);
+            synchronized (stripe(hash)) {
+                pin(hash);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(incoming, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            return new StoredBlob(hash, size);
+        } finally {
+            Files.deleteIfExists(incoming);
+        }
+    }
+
+    public Path resolve(String hash) throws IllegalOperationException {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalOperationException("Content hash is not valid");
+        }
+        return root().resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Deletes the blobs that are no longer referenced once the current
+     * transaction commits.
+     */
+    public void releaseAfterCommit(Collection<String> hashes) {
+        afterCompletion(committed -> {
+            if (committed) {
+                for (String hash : hashes) {
+                    release(hash);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops a pin taken by {@link #store} outside of a transaction, and the
+     * blob with it when no row ended up referencing it.
+     */
+    public void unpin(String hash) {
+        pins.computeIfPresent(hash, (key, count) -> count == 1 ? null : count - 1);
+        release(hash);
+    }
+
+    private void release(String hash) {
+        if (hash == null) {
+            return;
+        }
+        synchronized (stripe(hash)) {
+            if (pins.containsKey(hash) || photoRepository.existsByContentHash(hash)
+                    || photoVariantRepository.existsByContentHash(hash)) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(resolve(hash));
+            } catch (IOException | IllegalOperationException e) {
+                log.warn("Could not delete blob {}", hash, e);
+            }
+        }
+    }
+
+    /**
+     * Keeps the blob until the transaction that stored it completes, or when
+     * there is none until it is unpinned. If the transaction rolls back the
+     * blob is released like any other.
+     */
+    private void pin(String hash) {
+        pins.merge(hash, 1, Integer::sum);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        afterCompletion(committed -> {
+            pins.computeIfPresent(hash, (key, count) -> count == 1 ? null : count - 1);
+            if (!committed) {
+                release(hash);
+            }
+        });
+    }
+
+    private long copy(InputStream in, OutputStream out) throws IOException, IllegalOperationException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxSize) {
+                throw new IllegalOperationException("Uploaded content is larger than " + maxSize + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    private Path root() {
+        return Paths.get(directory).toAbsolutePath();
+    }
+
+    private Object stripe(String hash) {
+        return stripes[Math.floorMod(hash.hashCode(), STRIPES)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void afterCompletion(CompletionCallback callback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    callback.completed(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            callback.completed(true);
+        }
+    }
+
+    private interface CompletionCallback {
+        void completed(boolean committed);
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class StoredBlob {
+        private String hash;
+        private long size;
+    }
+}
@@ -0,0 +1,100 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import co.edu.uniandes.dse.carmotor.entities.BaseEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import lombok.Data;
+
+final class EntityLookup {
+    private EntityLookup() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Resolves the entities referenced by id with a single query, in the
+     * order they were given and without duplicates. Every missing id is
+     * reported in the same exception.
+     */
+    static <T extends BaseEntity> List<T> findAll(JpaRepository<T, Long> repository, List<T> references,
+            String notFoundMessage) throws EntityNotFoundException, IllegalOperationException {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (T reference : references) {
+            if (reference == null || reference.getId() == null) {
+                throw new IllegalOperationException("Related entities must be given by ID");
+            }
+            ids.add(reference.getId());
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, T> found = new HashMap<>();
+        for (T entity : repository.findAllById(ids)) {
+            found.put(entity.getId(), entity);
+        }
+        List<T> entities = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T entity = found.get(id);
+            if (entity == null) {
+                missing.add(id);
+            } else {
+                entities.add(entity);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(notFoundMessage + ". Missing IDs: " + missing);
+        }
+        return entities;
+    }
+
+    /**
+     * Makes the managed collection hold the same entities as the replacement
+     * by removing and adding elements in place. Replacing the collection
+     * instance makes Hibernate rewrite every row; an unchanged collection is
+     * not written at all.
+     */
+    static <T extends BaseEntity> Changes<T> replace(List<T> current, List<T> replacement) {
+        Set<Long> wanted = new HashSet<>();
+        for (T entity : replacement) {
+            wanted.add(entity.getId());
+        }
+
+        Changes<T> changes = new Changes<>();
+        Set<Long> kept = new HashSet<>();
+        Iterator<T> iterator = current.iterator();
+        while (iterator.hasNext()) {
+            T entity = iterator.next();
+            if (!wanted.contains(entity.getId())) {
+                iterator.remove();
+                changes.getRemoved().add(entity);
+            } else if (!kept.add(entity.getId())) {
+                iterator.remove();
+            }
+        }
+        for (T entity : replacement) {
+            if (kept.add(entity.getId())) {
+                current.add(entity);
+                changes.getAdded().add(entity);
+            }
+        }
+        return changes;
+    }
+
+    @Data
+    static final class Changes<T> {
+        private final List<T> added = new ArrayList<>();
+        private final List<T> removed = new ArrayList<>();
+    }
+}
@@ -0,0 +1,25 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import co.edu.uniandes.dse.carmotor.entities.BaseEntity;
+
+final class EntityVersions {
+    private EntityVersions() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Rejects an update based on a stale copy of the entity. A client that
+     * sends the version it read gets a conflict if someone else wrote in the
+     * meantime; a client that sends no version updates whatever is current.
+     * Either way the stored version is carried over so the save is a merge
+     * and the UPDATE is still checked against the version at flush time.
+     */
+    static void requireCurrent(BaseEntity incoming, BaseEntity existing) {
+        if (incoming.getVersion() != null && !incoming.getVersion().equals(existing.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(existing.getClass(), existing.getId());
+        }
+        incoming.setVersion(existing.getVersion());
+    }
+}
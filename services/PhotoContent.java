@@ -0,0 +1,20 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.nio.file.Path;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Location and metadata of the stored bytes of a photo. The content is final
+ * unless the original stands in for a variant that has not been generated.
+ */
+@Data
+@AllArgsConstructor
+public class PhotoContent {
+    private Path path;
+    private String contentHash;
+    private String contentType;
+    private long contentLength;
+    private boolean variantPending;
+}
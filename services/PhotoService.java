@@ -1,90 +1,228 @@
-package co.edu.uniandes.dse.carmotor.services;
-
-import java.util.List;
-import java.util.Optional;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
-import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
-import co.edu.uniandes.dse.carmotor.exceptions.ErrorMessage;
-import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
-import co.edu.uniandes.dse.carmotor.repositories.PhotoRepository;
-import lombok.extern.slf4j.Slf4j;
-
-@Service
-@Slf4j
-public class PhotoService {
-    @Autowired
-    private PhotoRepository photoRepository;
-
-    @Transactional
-    public PhotoEntity createPhoto(PhotoEntity photoEntity) throws IllegalOperationException {
-        log.info("The photo creation process begins");
-    
-        if (photoEntity.getUri() == null || photoEntity.getUri().length() == 0) {
-            throw new IllegalOperationException("Photo uri is not valid");
-        }
-        if (photoEntity.getArea() == null || photoEntity.getArea().length() == 0) {
-            throw new IllegalOperationException("Photo area is not valid");
-        }
-    
-        log.info("The photo creation process ends");
-        return photoRepository.save(photoEntity);
-    }
-    
-    @Transactional
-    public List<PhotoEntity> getPhotos() {
-        log.info("The process of getting all photos begins");
-        return photoRepository.findAll();
-    }
-    
-    @Transactional
-    public PhotoEntity getPhoto(Long photoId) throws EntityNotFoundException {
-        log.info("The process of getting the photo with ID = {} begins", photoId);
-        
-        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
-        if (photoEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
-        }
-
-        log.info("The process of getting the photo with ID = {} ends", photoId);
-        return photoEntity.get();
-    }
-    
-    @Transactional
-    public PhotoEntity updatePhoto(Long photoId, PhotoEntity photo) throws EntityNotFoundException, IllegalOperationException {
-        log.info("The process of updating the photo with ID = {} begins", photoId);
-
-        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
-        if (photoEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
-        }
-
-        if (photo.getUri() == null || photo.getUri().length() == 0) {
-            throw new IllegalOperationException("Photo uri is not valid");
-        }
-        if (photo.getArea() == null || photo.getArea().length() == 0) {
-            throw new IllegalOperationException("Photo area is not valid");
-        }
-    
-        photo.setId(photoId);
-
-        log.info("The process of updating the photo with ID = {} ends", photoId);
-        return photoRepository.save(photo);
-    }
-    
-    @Transactional
-    public void deletePhoto(Long photoId) throws EntityNotFoundException {
-        log.info("The process of deleting the photo with ID = {} begins", photoId);
-
-        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
-        if (photoEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
-        }
-    
-        photoRepository.deleteById(photoId);
-
-        log.info("The process of deleting the photo with ID = {} ends", photoId);
-    }    
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import co.edu.uniandes.dse.carmotor.entities.PhotoVariantEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.carmotor.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoRepository;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoVariantRepository;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class PhotoService {
+    /**
+     * Image formats accepted for upload.
+     */
+    public static final List<String> CONTENT_TYPES = List.of(MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            MediaType.IMAGE_GIF_VALUE, "image/webp");
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private PhotoVariantRepository photoVariantRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private PhotoVariantPipeline photoVariantPipeline;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Transactional
+    public PhotoEntity createPhoto(PhotoEntity photoEntity) throws IllegalOperationException {
+        log.info("The photo creation process begins");
+    
+        // Stored content can only be attached through an upload
+        clearContent(photoEntity);
+        if (photoEntity.getUri() == null || photoEntity.getUri().length() == 0) {
+            throw new IllegalOperationException("Photo uri is not valid");
+        }
+        if (photoEntity.getArea() == null || photoEntity.getArea().length() == 0) {
+            throw new IllegalOperationException("Photo area is not valid");
+        }
+    
+        log.info("The photo creation process ends");
+        return photoRepository.save(photoEntity);
+    }
+
+    /**
+     * Writes the content to the blob store before any transaction starts, so
+     * no database connection is held while the client sends it, and then
+     * saves the row in a short transaction. The blob is released if that
+     * transaction fails.
+     */
+    public PhotoEntity uploadPhoto(String area, MediaType contentType, InputStream content)
+            throws IOException, IllegalOperationException {
+        log.info("The photo upload process begins");
+        PhotoEntity stored = storePhoto(blobStore, area, contentType, content);
+        PhotoEntity photo;
+        try {
+            photo = new TransactionTemplate(transactionManager).execute(status -> {
+                PhotoEntity saved = photoRepository.save(stored);
+                photoVariantPipeline.generateAfterCommit(saved.getId());
+                return saved;
+            });
+        } finally {
+            blobStore.unpin(stored.getContentHash());
+        }
+        log.info("The photo upload process ends");
+        return photo;
+    }
+    
+    @Transactional
+    public List<PhotoEntity> getPhotos() {
+        log.info("The process of getting all photos begins");
+        return photoRepository.findAll();
+    }
+    
+    @Transactional
+    public PhotoEntity getPhoto(Long photoId) throws EntityNotFoundException {
+        log.info("The process of getting the photo with ID = {} begins", photoId);
+        
+        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
+        if (photoEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
+        }
+
+        log.info("The process of getting the photo with ID = {} ends", photoId);
+        return photoEntity.get();
+    }
+    
+    /**
+     * Locates the stored content of the photo. When a width is given, the
+     * narrowest variant at least that wide is served instead of the original.
+     */
+    @Transactional(readOnly = true)
+    public PhotoContent getPhotoContent(Long photoId, Integer width)
+            throws EntityNotFoundException, IllegalOperationException {
+        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
+        if (photoEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
+        }
+        PhotoEntity photo = photoEntity.get();
+        if (photo.getContentHash() == null) {
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_CONTENT_NOT_FOUND);
+        }
+        if (width != null && width <= 0) {
+            throw new IllegalOperationException("Photo width must be positive");
+        }
+
+        String hash = photo.getContentHash();
+        String type = photo.getContentType();
+        long length = photo.getContentLength();
+        PhotoVariantEntity variant = width == null ? null
+                : PhotoVariants.fit(photo.getVariants(), PhotoVariantEntity::getWidth, width);
+        if (variant != null) {
+            hash = variant.getContentHash();
+            type = variant.getContentType();
+            length = variant.getContentLength();
+        }
+
+        Path path = blobStore.resolve(hash);
+        if (!Files.isRegularFile(path)) {
+            log.warn("Blob {} of photo {} is missing", hash, photoId);
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_CONTENT_NOT_FOUND);
+        }
+        // Variants are saved all at once, so with none yet a fitting one may still come
+        boolean variantPending = width != null && variant == null && photo.getVariants().isEmpty();
+        return new PhotoContent(path, hash, type, length, variantPending);
+    }
+    
+    @Transactional
+    public PhotoEntity updatePhoto(Long photoId, PhotoEntity photo) throws EntityNotFoundException, IllegalOperationException {
+        log.info("The process of updating the photo with ID = {} begins", photoId);
+
+        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
+        if (photoEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
+        }
+
+        // The stored content stays as uploaded, whatever the request says
+        PhotoEntity existing = photoEntity.get();
+        photo.setContentHash(existing.getContentHash());
+        photo.setContentType(existing.getContentType());
+        photo.setContentLength(existing.getContentLength());
+        photo.setVariants(existing.getVariants());
+        if (photo.getContentHash() == null && (photo.getUri() == null || photo.getUri().length() == 0)) {
+            throw new IllegalOperationException("Photo uri is not valid");
+        }
+        if (photo.getArea() == null || photo.getArea().length() == 0) {
+            throw new IllegalOperationException("Photo area is not valid");
+        }
+    
+        photo.setId(photoId);
+        EntityVersions.requireCurrent(photo, photoEntity.get());
+
+        log.info("The process of updating the photo with ID = {} ends", photoId);
+        return photoRepository.save(photo);
+    }
+    
+    @Transactional
+    public void deletePhoto(Long photoId) throws EntityNotFoundException {
+        log.info("The process of deleting the photo with ID = {} begins", photoId);
+
+        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
+        if (photoEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
+        }
+    
+        // Variants go with the photo through the cascade
+        List<String> releasedHashes = new ArrayList<>();
+        releasedHashes.add(photoEntity.get().getContentHash());
+        releasedHashes.addAll(photoVariantRepository.findContentHashesByPhotoIdIn(List.of(photoId)));
+        photoRepository.deleteById(photoId);
+        blobStore.releaseAfterCommit(releasedHashes);
+
+        log.info("The process of deleting the photo with ID = {} ends", photoId);
+    }
+
+    /**
+     * Validates an upload and writes its bytes to the blob store. Shared with
+     * the upload of photos straight into a vehicle. Called outside of a
+     * transaction, so the caller must unpin the blob once its row is saved.
+     */
+    static PhotoEntity storePhoto(BlobStore blobStore, String area, MediaType contentType, InputStream content)
+            throws IOException, IllegalOperationException {
+        if (area == null || area.length() == 0) {
+            throw new IllegalOperationException("Photo area is not valid");
+        }
+        // Parameters such as a charset are not kept
+        String type = contentType == null ? null : contentType.getType() + "/" + contentType.getSubtype();
+        if (type == null || !CONTENT_TYPES.contains(type)) {
+            throw new IllegalOperationException("Photo content type must be one of " + CONTENT_TYPES);
+        }
+
+        BlobStore.StoredBlob blob = blobStore.store(content);
+        PhotoEntity photo = new PhotoEntity();
+        photo.setArea(area);
+        photo.setContentHash(blob.getHash());
+        photo.setContentType(type);
+        photo.setContentLength(blob.getSize());
+        return photo;
+    }
+
+    private static void clearContent(PhotoEntity photo) {
+        photo.setContentHash(null);
+        photo.setContentType(null);
+        photo.setContentLength(null);
+        photo.setVariants(new ArrayList<>());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,274 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import co.edu.uniandes.dse.carmotor.entities.PhotoVariantEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoRepository;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoVariantRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates resized copies of uploaded photos in the background, so listing
+ * pages can fetch a thumbnail instead of the original.
+ *
+ * <p>
+ * Work runs on a small bounded pool. When the queue is full the photo is left
+ * without variants and clients keep getting the original; nothing blocks the
+ * request that uploaded it.
+ */
+@Slf4j
+@Component
+public class PhotoVariantPipeline {
+    /**
+     * Images with more pixels than this are not decoded, whatever their size
+     * on disk.
+     */
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.8f;
+
+    @Value("${carmotor.photos.variants.widths:320,640,1280}")
+    private List<Integer> widths;
+
+    @Value("${carmotor.photos.variants.threads:2}")
+    private int threads;
+
+    @Value("${carmotor.photos.variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private PhotoVariantRepository photoVariantRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "photo-variants-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+                (runnable, pool) -> log.warn("Photo variant queue is full, variants are skipped"));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues the generation once the current transaction commits, so the
+     * worker sees the photo row. Nothing is queued if it rolls back.
+     */
+    public void generateAfterCommit(Long photoId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(photoId);
+                }
+            });
+        } else {
+            submit(photoId);
+        }
+    }
+
+    private void submit(Long photoId) {
+        executor.execute(() -> {
+            try {
+                generate(photoId);
+            } catch (Exception e) {
+                log.warn("Could not generate variants of photo {}", photoId, e);
+            }
+        });
+    }
+
+    private void generate(Long photoId) throws IOException, IllegalOperationException {
+        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
+        if (photoEntity.isEmpty() || photoEntity.get().getContentHash() == null) {
+            return;
+        }
+        PhotoEntity photo = photoEntity.get();
+        Path path = blobStore.resolve(photo.getContentHash());
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+
+        BufferedImage original = read(path);
+        if (original == null) {
+            log.info("Photo {} is not in a format that can be resized", photoId);
+            return;
+        }
+
+        boolean alpha = original.getColorModel().hasAlpha();
+        String contentType = alpha ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+        List<EncodedVariant> variants = new ArrayList<>();
+        for (Integer width : widths) {
+            // Upscaling would only make a bigger copy of the same picture
+            if (width == null || width <= 0 || width >= original.getWidth()) {
+                continue;
+            }
+            int height = Math.max(1, (int) Math.round((double) original.getHeight() * width / original.getWidth()));
+            byte[] bytes = encode(scale(original, width, height, alpha), alpha);
+
+            PhotoVariantEntity variant = new PhotoVariantEntity();
+            variant.setWidth(width);
+            variant.setHeight(height);
+            variant.setContentType(contentType);
+            variant.setContentLength((long) bytes.length);
+            variants.add(new EncodedVariant(variant, bytes));
+        }
+        if (!variants.isEmpty()) {
+            save(photoId, variants);
+        }
+    }
+
+    /**
+     * Stores and records the variants in one transaction, so the blobs stay
+     * pinned until their rows are visible. The photo may have been deleted or
+     * processed again in the meantime; those variants are dropped.
+     */
+    private void save(Long photoId, List<EncodedVariant> variants) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Optional<PhotoEntity> photoEntity = photoRepository.findAndIncrementVersionById(photoId);
+            if (photoEntity.isEmpty()) {
+                return;
+            }
+            Set<Integer> existing = new HashSet<>();
+            for (PhotoVariantEntity variant : photoVariantRepository.findByPhotoId(photoId)) {
+                existing.add(variant.getWidth());
+            }
+            for (EncodedVariant encoded : variants) {
+                PhotoVariantEntity variant = encoded.getVariant();
+                if (!existing.add(variant.getWidth())) {
+                    continue;
+                }
+                try (InputStream in = new ByteArrayInputStream(encoded.getBytes())) {
+                    variant.setContentHash(blobStore.store(in).getHash());
+                } catch (IOException | IllegalOperationException e) {
+                    throw new IllegalStateException("Could not store variant of photo " + photoId, e);
+                }
+                variant.setPhoto(photoEntity.get());
+                photoVariantRepository.save(variant);
+            }
+        });
+        log.info("Variants of photo {} generated", photoId);
+    }
+
+    /**
+     * Decodes the image after checking its declared dimensions, or returns
+     * null when no reader supports the format.
+     */
+    private static BufferedImage read(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IOException("Image is larger than " + MAX_PIXELS + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage original, int width, int height, boolean alpha) {
+        BufferedImage scaled = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] encode(BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(alpha ? "png" : "jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!alpha) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class EncodedVariant {
+        private PhotoVariantEntity variant;
+        private byte[] bytes;
+    }
+}
\ No newline at end of file
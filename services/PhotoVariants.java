@@ -0,0 +1,25 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+public final class PhotoVariants {
+    private PhotoVariants() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Picks the narrowest variant that is at least as wide as requested, or
+     * null when none is, in which case the original should be used.
+     */
+    public static <T> T fit(List<T> variants, ToIntFunction<T> width, int requested) {
+        T best = null;
+        for (T variant : variants) {
+            int candidate = width.applyAsInt(variant);
+            if (candidate >= requested && (best == null || candidate < width.applyAsInt(best))) {
+                best = variant;
+            }
+        }
+        return best;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Bounded in-process cache for entities that are read far more often than
+ * they change. Entries expire after a fixed time to live and the least
+ * recently used entry is evicted once the cache is full.
+ *
+ * Values are shared between callers, so they must be fully initialized
+ * before being cached and must not be modified afterwards.
+ */
+public class ReferenceCache<V> {
+    private final String name;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Long, Entry<V>> entries;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReferenceCache(String name, boolean enabled, int maxSize, Duration ttl) {
+        this.name = name;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Optional<V> get(Long key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return Optional.of(entry.value);
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Token to take before loading a value from the database. A value loaded
+     * before an invalidation may be stale, so {@link #put} discards it.
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public void put(Long key, V value, long stamp) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (entries) {
+            if (invalidations.get() != stamp) {
+                return;
+            }
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            Iterator<Entry<V>> eldest = entries.values().iterator();
+            while (entries.size() > maxSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops the entry now and again once the current transaction completes,
+     * so a reader cannot cache the row as it was before the commit.
+     */
+    public void invalidate(Long key) {
+        if (key == null) {
+            return;
+        }
+        remove(key);
+        afterCompletion(() -> remove(key));
+    }
+
+    public void invalidateAll() {
+        clear();
+        afterCompletion(this::clear);
+    }
+
+    public Stats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(name, enabled, size, maxSize, hitCount, missCount, evictions.sum(),
+                requests == 0 ? 0.0 : (double) hitCount / requests);
+    }
+
+    private void remove(Long key) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    private void clear() {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Stats {
+        private String name;
+        private boolean enabled;
+        private int size;
+        private int maxSize;
+        private long hits;
+        private long misses;
+        private long evictions;
+        private double hitRate;
+    }
+}
@@ -0,0 +1,32 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+
+/**
+ * Keyset paging shared by the summary listings. A page holds the rows with
+ * an id greater than the last id of the previous page, so reading deep
+ * pages costs the same as reading the first one.
+ */
+final class SummaryPages {
+    static final int DEFAULT_SIZE = 100;
+    static final int MAX_SIZE = 1000;
+
+    private SummaryPages() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    static Pageable limit(Integer size) throws IllegalOperationException {
+        int pageSize = size == null ? DEFAULT_SIZE : size;
+        if (pageSize <= 0 || pageSize > MAX_SIZE) {
+            throw new IllegalOperationException("Summary page size must be between 1 and " + MAX_SIZE);
+        }
+        return PageRequest.of(0, pageSize);
+    }
+
+    static long after(Long afterId) {
+        return afterId == null ? 0L : afterId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.carmotor.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.projections.TestDriveSlot;
+import co.edu.uniandes.dse.carmotor.repositories.LocationRepository;
+import co.edu.uniandes.dse.carmotor.repositories.TestDriveRepository;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Free and busy test drive windows of vehicles and locations, answered from
+ * range queries over the stored test drives instead of loading their test
+ * drive collections. The join tables are indexed by vehicle and by location,
+ * so each query only reads the test drives of the one resource.
+ */
+@Slf4j
+@Service
+public class TestDriveAvailabilityService {
+    public static final Duration DEFAULT_RANGE = Duration.ofDays(7);
+    public static final Duration MAX_RANGE = Duration.ofDays(90);
+
+    @Autowired
+    private TestDriveRepository testDriveRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Transactional(readOnly = true)
+    public Availability getVehicleAvailability(Long vehicleId, Instant from, Instant to)
+            throws EntityNotFoundException, IllegalOperationException {
+        log.info("The process of getting the availability of the vehicle with ID = {} begins", vehicleId);
+        if (!vehicleRepository.existsById(vehicleId)) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+        Availability availability = newAvailability(from, to);
+        return fill(availability, testDriveRepository.findVehicleSlotsBetween(vehicleId, availability.getFrom(),
+                availability.getTo()));
+    }
+
+    @Transactional(readOnly = true)
+    public Availability getLocationAvailability(Long locationId, Instant from, Instant to)
+            throws EntityNotFoundException, IllegalOperationException {
+        log.info("The process of getting the availability of the location with ID = {} begins", locationId);
+        if (!locationRepository.existsById(locationId)) {
+            throw new EntityNotFoundException(ErrorMessage.LOCATION_NOT_FOUND);
+        }
+        Availability availability = newAvailability(from, to);
+        return fill(availability, testDriveRepository.findLocationSlotsBetween(locationId, availability.getFrom(),
+                availability.getTo()));
+    }
+
+    private Availability newAvailability(Instant from, Instant to) throws IllegalOperationException {
+        Instant start = from == null ? Instant.now() : from;
+        Instant end = to == null ? start.plus(DEFAULT_RANGE) : to;
+        if (!end.isAfter(start)) {
+            throw new IllegalOperationException("Availability range is not valid");
+        }
+        if (Duration.between(start, end).compareTo(MAX_RANGE) > 0) {
+            throw new IllegalOperationException("Availability range cannot be longer than " + MAX_RANGE.toDays() + " days");
+        }
+
+        Availability availability = new Availability();
+        availability.setFrom(start);
+        availability.setTo(end);
+        return availability;
+    }
+
+    private Availability fill(Availability availability, List<TestDriveSlot> slots) {
+        Instant start = availability.getFrom();
+        Instant end = availability.getTo();
+        // Slots come in start order, so overlapping ones are merged in one pass
+        Instant cursor = start;
+        Availability.TimeWindow current = null;
+        for (TestDriveSlot slot : slots) {
+            Instant busyStart = slot.getStartTime().isBefore(start) ? start : slot.getStartTime();
+            Instant busyEnd = slot.getEndTime().isAfter(end) ? end : slot.getEndTime();
+            if (current != null && !busyStart.isAfter(current.getEnd())) {
+                if (busyEnd.isAfter(current.getEnd())) {
+                    current.setEnd(busyEnd);
+                }
+                continue;
+            }
+            current = new Availability.TimeWindow(busyStart, busyEnd);
+            availability.getBusy().add(current);
+        }
+        for (Availability.TimeWindow busy : availability.getBusy()) {
+            if (busy.getStart().isAfter(cursor)) {
+                availability.getFree().add(new Availability.TimeWindow(cursor, busy.getStart()));
+            }
+            cursor = busy.getEnd();
+        }
+        if (end.isAfter(cursor)) {
+            availability.getFree().add(new Availability.TimeWindow(cursor, end));
+        }
+        return availability;
+    }
+}
@@ -0,0 +1,91 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.carmotor.entities.LocationEntity;
+import co.edu.uniandes.dse.carmotor.entities.TestDriveEntity;
+import co.edu.uniandes.dse.carmotor.entities.UserEntity;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.carmotor.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.repositories.LocationRepository;
+import co.edu.uniandes.dse.carmotor.repositories.TestDriveRepository;
+import co.edu.uniandes.dse.carmotor.repositories.UserRepository;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class TestDriveBookingService {
+    @Autowired
+    private TestDriveRepository testDriveRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestDriveSchedule testDriveSchedule;
+
+    /**
+     * Books a test drive of the vehicle at the location for the user. The slot
+     * is checked against the schedule of both the vehicle and the location, so
+     * neither can be double-booked. Concurrent bookings are serialized by the
+     * schedule on lock rows of their own, so a booking leaves the versions of
+     * the vehicle and the location as they are.
+     */
+    @Transactional
+    public TestDriveEntity bookTestDrive(Long vehicleId, Long locationId, Long userId, Instant startTime,
+            Instant endTime) throws EntityNotFoundException, IllegalOperationException {
+        log.info("The booking of a test drive of vehicle {} at location {} begins", vehicleId, locationId);
+
+        if (startTime == null || startTime.isBefore(Instant.now())) {
+            throw new IllegalOperationException("Test drive start time is not valid");
+        }
+        if (endTime == null || !endTime.isAfter(startTime)) {
+            throw new IllegalOperationException("Test drive end time is not valid");
+        }
+
+        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
+        if (vehicleEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+        Optional<LocationEntity> locationEntity = locationRepository.findById(locationId);
+        if (locationEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.LOCATION_NOT_FOUND);
+        }
+        Optional<UserEntity> userEntity = userRepository.findById(userId);
+        if (userEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.USER_NOT_FOUND);
+        }
+
+        TestDriveEntity testDrive = new TestDriveEntity();
+        testDrive.setDate(Date.from(startTime));
+        testDrive.setStartTime(startTime);
+        testDrive.setEndTime(endTime);
+        testDrive.setUser(userEntity.get());
+        testDrive.getVehicles().add(vehicleEntity.get());
+        testDrive = testDriveRepository.save(testDrive);
+
+        testDriveSchedule.reserve(testDrive.getId(), Set.of(vehicleId), Set.of(locationId), startTime, endTime);
+
+        locationEntity.get().getTestDrives().add(testDrive);
+        vehicleEntity.get().getTestDrives().add(testDrive);
+
+        log.info("The booking of test drive {} ends", testDrive.getId());
+        return testDrive;
+    }
+}
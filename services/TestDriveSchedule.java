@@ -0,0 +1,137 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import co.edu.uniandes.dse.carmotor.entities.BookingLockEntity;
+import co.edu.uniandes.dse.carmotor.entities.BookingResourceEnum;
+import co.edu.uniandes.dse.carmotor.entities.TestDriveEntity;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.projections.TestDriveSlot;
+import co.edu.uniandes.dse.carmotor.repositories.BookingLockRepository;
+import co.edu.uniandes.dse.carmotor.repositories.LocationRepository;
+import co.edu.uniandes.dse.carmotor.repositories.TestDriveRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the test drives booked on each vehicle and location from overlapping.
+ *
+ * The stored test drives are the only record of what is booked. A new slot is
+ * checked with range queries over the join tables, which are indexed by
+ * vehicle and by location, so a check reads only the test drives of the
+ * resources involved. A test drive being moved is left out of its own check,
+ * so its new slot may overlap the old one.
+ *
+ * Before checking, a booking locks the lock row of each of its vehicles and
+ * locations until its transaction ends, vehicles first and then locations,
+ * each group in id order. A concurrent booking of the same resource, on this
+ * node or any other, waits for the first one to commit and then sees its
+ * slot, while bookings of unrelated resources proceed in parallel.
+ */
+@Slf4j
+@Component
+public class TestDriveSchedule {
+    @Autowired
+    private TestDriveRepository testDriveRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private BookingLockRepository bookingLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Books the slot for the test drive on every given vehicle and location, or
+     * fails if any of them is already taken by another test drive. Must be
+     * called in the transaction that stores the slot.
+     */
+    public void reserve(Long testDriveId, Collection<Long> vehicleIds, Collection<Long> locationIds, Instant start,
+            Instant end) throws IllegalOperationException {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalOperationException("Test drive time slot is not valid");
+        }
+        Set<Long> sortedVehicleIds = new TreeSet<>(vehicleIds);
+        Set<Long> sortedLocationIds = new TreeSet<>(locationIds);
+        for (Long vehicleId : sortedVehicleIds) {
+            lockResource(BookingResourceEnum.VEHICLE, vehicleId);
+        }
+        for (Long locationId : sortedLocationIds) {
+            lockResource(BookingResourceEnum.LOCATION, locationId);
+        }
+
+        if (!sortedVehicleIds.isEmpty()) {
+            List<TestDriveSlot> overlapping = testDriveRepository.findVehicleSlotsOverlapping(sortedVehicleIds,
+                    testDriveId, start, end);
+            if (!overlapping.isEmpty()) {
+                throw conflict(BookingResourceEnum.VEHICLE, overlapping.get(0));
+            }
+        }
+        if (!sortedLocationIds.isEmpty()) {
+            List<TestDriveSlot> overlapping = testDriveRepository.findLocationSlotsOverlapping(sortedLocationIds,
+                    testDriveId, start, end);
+            if (!overlapping.isEmpty()) {
+                throw conflict(BookingResourceEnum.LOCATION, overlapping.get(0));
+            }
+        }
+    }
+
+    /**
+     * Checks the slot of the test drive on the vehicles and locations it is
+     * currently related to. Must be called after its associations have been
+     * changed in the current transaction.
+     */
+    public void reschedule(TestDriveEntity testDrive) throws IllegalOperationException {
+        if (testDrive.getStartTime() == null && testDrive.getEndTime() == null) {
+            return;
+        }
+        List<Long> vehicleIds = new ArrayList<>();
+        for (VehicleEntity vehicle : testDrive.getVehicles()) {
+            vehicleIds.add(vehicle.getId());
+        }
+        List<Long> locationIds = locationRepository.findIdsByTestDriveId(testDrive.getId());
+        reserve(testDrive.getId(), vehicleIds, locationIds, testDrive.getStartTime(), testDrive.getEndTime());
+    }
+
+    private void lockResource(BookingResourceEnum resource, Long resourceId) {
+        if (bookingLockRepository.findForUpdateByResourceAndResourceId(resource, resourceId).isPresent()) {
+            return;
+        }
+        // The row is created on the first booking of the resource, in its own
+        // transaction so it is visible to every other booking right away
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> bookingLockRepository.save(new BookingLockEntity(resource, resourceId)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("The lock row of the {} was created by another booking", describe(resource, resourceId));
+        }
+        if (bookingLockRepository.findForUpdateByResourceAndResourceId(resource, resourceId).isEmpty()) {
+            throw new IllegalStateException("Missing lock row of the " + describe(resource, resourceId));
+        }
+    }
+
+    private static IllegalOperationException conflict(BookingResourceEnum resource, TestDriveSlot slot) {
+        return new IllegalOperationException("The " + describe(resource, slot.getResourceId())
+                + " is already booked from " + slot.getStartTime() + " to " + slot.getEndTime());
+    }
+
+    private static String describe(BookingResourceEnum resource, Long id) {
+        return resource.name().toLowerCase() + " with ID " + id;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Continuation token of the vehicle catalog keyset pagination. It keeps the
+ * sort key of the last vehicle returned so the next page starts right after
+ * it, no matter how many vehicles are inserted or deleted meanwhile.
+ */
+@Data
+@AllArgsConstructor
+public class VehicleCursor {
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_PRICE = "price";
+
+    private static final String SEPARATOR = "|";
+
+    private String sortBy;
+    private Double lastPrice;
+    private Long lastId;
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + (lastPrice == null ? "" : lastPrice.toString()) + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static VehicleCursor decode(String token) throws IllegalOperationException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalOperationException("Vehicle page cursor is not valid");
+            }
+            String sortBy = parts[0];
+            if (!SORT_BY_ID.equals(sortBy) && !SORT_BY_PRICE.equals(sortBy)) {
+                throw new IllegalOperationException("Vehicle page cursor is not valid");
+            }
+            Double lastPrice = parts[1].isEmpty() ? null : Double.valueOf(parts[1]);
+            if (SORT_BY_PRICE.equals(sortBy) && lastPrice == null) {
+                throw new IllegalOperationException("Vehicle page cursor is not valid");
+            }
+            return new VehicleCursor(sortBy, lastPrice, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalOperationException("Vehicle page cursor is not valid");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Walks the whole catalog with a database cursor, handing each vehicle to the
+ * caller and detaching it right after, so memory does not grow with the number
+ * of rows exported.
+ */
+@Slf4j
+@Service
+public class VehicleExportService {
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportVehicles(Consumer<VehicleEntity> writer) {
+        log.info("The vehicle export process begins");
+
+        long exported = 0;
+        try (Stream<VehicleEntity> vehicles = vehicleRepository.streamAllByOrderByIdAsc()) {
+            for (VehicleEntity vehicle : (Iterable<VehicleEntity>) vehicles::iterator) {
+                writer.accept(vehicle);
+                entityManager.detach(vehicle);
+                exported++;
+            }
+        }
+
+        log.info("The vehicle export process ends with {} vehicles", exported);
+        return exported;
+    }
+}
@@ -0,0 +1,21 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+public class VehicleImportReport {
+    private long imported;
+    private long rejected;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,175 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import co.edu.uniandes.dse.carmotor.dto.VehicleDTO;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.mappers.VehicleCsv;
+import co.edu.uniandes.dse.carmotor.mappers.VehicleMapper;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports vehicles from an NDJSON or CSV stream. Rows are read one line at a
+ * time and saved in chunks, each chunk in its own transaction, so neither the
+ * upload nor the persistence context grows with the size of the file. A chunk
+ * that fails is retried row by row, so only the failing rows are rejected.
+ */
+@Slf4j
+@Service
+public class VehicleImportService {
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleTextIndex vehicleTextIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public VehicleImportReport importVehicles(BufferedReader reader, String format)
+            throws IOException, IllegalOperationException {
+        log.info("The vehicle import process begins");
+
+        boolean csv = FORMAT_CSV.equals(format);
+        if (!csv && !FORMAT_NDJSON.equals(format)) {
+            throw new IllegalOperationException("Vehicle import format is not valid");
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        VehicleImportReport report = new VehicleImportReport();
+        Map<String, Integer> columns = null;
+        List<VehicleEntity> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            if (csv && columns == null) {
+                columns = VehicleCsv.parseHeader(line);
+                continue;
+            }
+            try {
+                VehicleEntity vehicle = parseRow(line, csv, columns);
+                VehicleService.validateVehicle(vehicle);
+                chunk.add(vehicle);
+                chunkLines.add(lineNumber);
+            } catch (IllegalOperationException e) {
+                reject(report, lineNumber, e.getMessage());
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                saveChunk(transactionTemplate, chunk, chunkLines, report);
+            }
+        }
+        saveChunk(transactionTemplate, chunk, chunkLines, report);
+
+        log.info("The vehicle import process ends with {} imported and {} rejected rows", report.getImported(),
+                report.getRejected());
+        return report;
+    }
+
+    private VehicleEntity parseRow(String line, boolean csv, Map<String, Integer> columns)
+            throws IllegalOperationException {
+        VehicleDTO dto;
+        VehicleEntity vehicle;
+        try {
+            if (csv) {
+                dto = VehicleCsv.parse(line, columns);
+            } else {
+                dto = objectMapper.readValue(line, VehicleDTO.class);
+            }
+            vehicle = VehicleMapper.toEntity(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalOperationException("Vehicle row is not valid JSON");
+        } catch (NumberFormatException e) {
+            throw new IllegalOperationException(e.getMessage());
+        }
+        // Imported rows always create new vehicles
+        vehicle.setId(null);
+        vehicle.setVersion(null);
+        return vehicle;
+    }
+
+    private void saveChunk(TransactionTemplate transactionTemplate, List<VehicleEntity> chunk, List<Long> chunkLines,
+            VehicleImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            save(transactionTemplate, chunk);
+            report.setImported(report.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            log.warn("A chunk of {} vehicles could not be saved, retrying them one by one", chunk.size(), e);
+            for (int i = 0; i < chunk.size(); i++) {
+                saveRow(transactionTemplate, chunk.get(i), chunkLines.get(i), report);
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    /**
+     * Saves a single row of a failed chunk in its own transaction, so only
+     * the rows that fail on their own are rejected.
+     */
+    private void saveRow(TransactionTemplate transactionTemplate, VehicleEntity vehicle, Long line,
+            VehicleImportReport report) {
+        // The rolled back chunk may have assigned an id and a version
+        vehicle.setId(null);
+        vehicle.setVersion(null);
+        try {
+            save(transactionTemplate, List.of(vehicle));
+            report.setImported(report.getImported() + 1);
+        } catch (RuntimeException e) {
+            log.warn("The vehicle on line {} could not be saved", line, e);
+            reject(report, line, "Vehicle could not be saved");
+        }
+    }
+
+    private void save(TransactionTemplate transactionTemplate, List<VehicleEntity> vehicles) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (VehicleEntity vehicle : vehicleRepository.saveAll(vehicles)) {
+                vehicleTextIndex.indexAfterCommit(vehicle);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static void reject(VehicleImportReport report, long line, String message) {
+        report.setRejected(report.getRejected() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new VehicleImportReport.RowError(line, message));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.List;
+
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class VehiclePage {
+    private List<VehicleEntity> vehicles;
+    private String nextCursor;
+}
@@ -1,130 +1,184 @@
-package co.edu.uniandes.dse.carmotor.services;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
-import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
-import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
-import co.edu.uniandes.dse.carmotor.exceptions.ErrorMessage;
-import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
-import co.edu.uniandes.dse.carmotor.repositories.PhotoRepository;
-import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
-import jakarta.transaction.Transactional;
-import lombok.extern.slf4j.Slf4j;
-
-@Slf4j
-@Service
-public class VehiclePhotoService {
-    @Autowired
-    private VehicleRepository vehicleRepository;
-
-    @Autowired
-    private PhotoRepository photoRepository;
-
-    @Transactional
-    public PhotoEntity addPhotoToVehicle(Long vehicleId, Long photoId) throws EntityNotFoundException, IllegalOperationException {
-        log.info("Adding photo {} to vehicle {}", photoId, vehicleId);
-        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
-        if (vehicleEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
-        }
-        VehicleEntity vehicle = vehicleEntity.get();
-
-        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
-        if (photoEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
-        }
-        PhotoEntity photo = photoEntity.get();
-
-        vehicle.getPhotos().add(photo);
-        vehicleRepository.save(vehicle);
-        log.info("Photo {} added to vehicle {}", photoId, vehicleId);
-        return photo;
-    }
-
-    @Transactional
-    public List<PhotoEntity> getPhotosFromVehicle(Long vehicleId) throws EntityNotFoundException, IllegalOperationException {
-        log.info("Getting photos from vehicle {}", vehicleId);
-        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
-        if (vehicleEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
-        }
-        VehicleEntity vehicle = vehicleEntity.get();
-        List<PhotoEntity> photos = vehicle.getPhotos();
-        log.info("Photos retrieved from vehicle {}", vehicleId);
-        return photos;
-    }
-
-    @Transactional
-    public PhotoEntity getPhotoFromVehicle(Long vehicleId, Long photoId) throws EntityNotFoundException, IllegalOperationException {
-        log.info("Getting photo {} from vehicle {}", photoId, vehicleId);
-        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
-        if (vehicleEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
-        }
-        VehicleEntity vehicle = vehicleEntity.get();
-
-        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
-        if (photoEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
-        }
-        PhotoEntity photo = photoEntity.get();
-
-        if (!vehicle.getPhotos().contains(photo)) {
-            throw new IllegalOperationException("The photo is not associated with the vehicle");
-        }
-        log.info("Photo {} retrieved from vehicle {}", photoId, vehicleId);
-        return photo;
-    }
-
-    @Transactional
-    public List<PhotoEntity> updatePhotosFromVehicle(Long vehicleId, List<PhotoEntity> photoList) throws EntityNotFoundException, IllegalOperationException {
-        log.info("Updating photos for vehicle {}", vehicleId);
-        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
-        if (vehicleEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
-        }
-        VehicleEntity vehicle = vehicleEntity.get();
-    
-        List<PhotoEntity> validatedPhotos = new ArrayList<>();
-        for (PhotoEntity photo : photoList) {
-            if (photo == null || photo.getId() == null) {
-                throw new IllegalOperationException("Photo or Photo ID cannot be null.");
-            }
-            Optional<PhotoEntity> photoEntity = photoRepository.findById(photo.getId());
-            if (photoEntity.isEmpty()) {
-                throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
-            }
-            validatedPhotos.add(photoEntity.get());
-        }
-    
-        vehicle.getPhotos().clear();
-        vehicle.getPhotos().addAll(validatedPhotos);
-        vehicleRepository.save(vehicle);
-        log.info("Photos updated for vehicle {}", vehicleId);
-        return validatedPhotos;
-    }
-    
-    @Transactional
-    public void deletePhotoFromVehicle(Long vehicleId, Long photoId) throws EntityNotFoundException, IllegalOperationException {
-        log.info("Deleting photo {} from vehicle {}", photoId, vehicleId);
-        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
-        if (vehicleEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
-        }
-        VehicleEntity vehicle = vehicleEntity.get();
-
-        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
-        if (photoEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
-        }
-        PhotoEntity photo = photoEntity.get();
-
-        vehicle.getPhotos().remove(photo);
-        photoRepository.deleteById(photoId);
-        log.info("Photo {} deleted from vehicle {}", photoId, vehicleId);
-    }
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.carmotor.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoRepository;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoVariantRepository;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class VehiclePhotoService {
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private PhotoVariantRepository photoVariantRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private PhotoVariantPipeline photoVariantPipeline;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Transactional
+    public PhotoEntity addPhotoToVehicle(Long vehicleId, Long photoId) throws EntityNotFoundException, IllegalOperationException {
+        log.info("Adding photo {} to vehicle {}", photoId, vehicleId);
+        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findAndIncrementVersionById(vehicleId);
+        if (vehicleEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+        VehicleEntity vehicle = vehicleEntity.get();
+
+        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
+        if (photoEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
+        }
+        PhotoEntity photo = photoEntity.get();
+
+        vehicle.getPhotos().add(photo);
+        vehicleRepository.save(vehicle);
+        // Covers uploads whose variants were skipped while the pipeline was busy
+        if (photo.getContentHash() != null && photo.getVariants().isEmpty()) {
+            photoVariantPipeline.generateAfterCommit(photoId);
+        }
+        log.info("Photo {} added to vehicle {}", photoId, vehicleId);
+        return photo;
+    }
+
+    /**
+     * Writes the content to the blob store first and only then, in a short
+     * transaction, locks the vehicle and saves the photo, so neither the
+     * vehicle nor a database connection is held while the client uploads.
+     */
+    public PhotoEntity uploadPhotoToVehicle(Long vehicleId, String area, MediaType contentType, InputStream content)
+            throws EntityNotFoundException, IOException, IllegalOperationException {
+        log.info("Uploading photo to vehicle {}", vehicleId);
+        PhotoEntity stored = PhotoService.storePhoto(blobStore, area, contentType, content);
+        PhotoEntity photo;
+        try {
+            photo = new TransactionTemplate(transactionManager).execute(status -> {
+                Optional<VehicleEntity> vehicleEntity = vehicleRepository.findAndIncrementVersionById(vehicleId);
+                if (vehicleEntity.isEmpty()) {
+                    return null;
+                }
+                PhotoEntity saved = photoRepository.save(stored);
+                vehicleEntity.get().getPhotos().add(saved);
+                photoVariantPipeline.generateAfterCommit(saved.getId());
+                return saved;
+            });
+        } finally {
+            blobStore.unpin(stored.getContentHash());
+        }
+        if (photo == null) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+        log.info("Photo {} uploaded to vehicle {}", photo.getId(), vehicleId);
+        return photo;
+    }
+
+    @Transactional
+    public List<PhotoEntity> getPhotosFromVehicle(Long vehicleId) throws EntityNotFoundException, IllegalOperationException {
+        log.info("Getting photos from vehicle {}", vehicleId);
+        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
+        if (vehicleEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+        VehicleEntity vehicle = vehicleEntity.get();
+        List<PhotoEntity> photos = vehicle.getPhotos();
+        log.info("Photos retrieved from vehicle {}", vehicleId);
+        return photos;
+    }
+
+    @Transactional
+    public PhotoEntity getPhotoFromVehicle(Long vehicleId, Long photoId) throws EntityNotFoundException, IllegalOperationException {
+        log.info("Getting photo {} from vehicle {}", photoId, vehicleId);
+        if (!vehicleRepository.existsById(vehicleId)) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+
+        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
+        if (photoEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
+        }
+        PhotoEntity photo = photoEntity.get();
+
+        if (!vehicleRepository.existsPhoto(vehicleId, photoId)) {
+            throw new IllegalOperationException("The photo is not associated with the vehicle");
+        }
+        log.info("Photo {} retrieved from vehicle {}", photoId, vehicleId);
+        return photo;
+    }
+
+    @Transactional
+    public List<PhotoEntity> updatePhotosFromVehicle(Long vehicleId, List<PhotoEntity> photoList) throws EntityNotFoundException, IllegalOperationException {
+        log.info("Updating photos for vehicle {}", vehicleId);
+        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findAndIncrementVersionById(vehicleId);
+        if (vehicleEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+        VehicleEntity vehicle = vehicleEntity.get();
+    
+        // Photos left out are deleted through orphan removal
+        List<PhotoEntity> validatedPhotos = EntityLookup.findAll(photoRepository, photoList, ErrorMessage.PHOTO_NOT_FOUND);
+        EntityLookup.Changes<PhotoEntity> changes = EntityLookup.replace(vehicle.getPhotos(), validatedPhotos);
+        vehicleRepository.save(vehicle);
+        List<String> releasedHashes = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+        for (PhotoEntity photo : changes.getRemoved()) {
+            releasedHashes.add(photo.getContentHash());
+            removedIds.add(photo.getId());
+        }
+        if (!removedIds.isEmpty()) {
+            releasedHashes.addAll(photoVariantRepository.findContentHashesByPhotoIdIn(removedIds));
+        }
+        blobStore.releaseAfterCommit(releasedHashes);
+        log.info("Photos updated for vehicle {}", vehicleId);
+        return validatedPhotos;
+    }
+    
+    @Transactional
+    public void deletePhotoFromVehicle(Long vehicleId, Long photoId) throws EntityNotFoundException, IllegalOperationException {
+        log.info("Deleting photo {} from vehicle {}", photoId, vehicleId);
+        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findAndIncrementVersionById(vehicleId);
+        if (vehicleEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+        VehicleEntity vehicle = vehicleEntity.get();
+
+        Optional<PhotoEntity> photoEntity = photoRepository.findById(photoId);
+        if (photoEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.PHOTO_NOT_FOUND);
+        }
+        PhotoEntity photo = photoEntity.get();
+
+        List<String> releasedHashes = new ArrayList<>();
+        releasedHashes.add(photo.getContentHash());
+        releasedHashes.addAll(photoVariantRepository.findContentHashesByPhotoIdIn(List.of(photoId)));
+        vehicle.getPhotos().remove(photo);
+        photoRepository.deleteById(photoId);
+        blobStore.releaseAfterCommit(releasedHashes);
+        log.info("Photo {} deleted from vehicle {}", photoId, vehicleId);
+    }
 }
\ No newline at end of file
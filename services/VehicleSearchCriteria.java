@@ -0,0 +1,19 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import lombok.Data;
+
+@Data
+public class VehicleSearchCriteria {
+    private String brand;
+    private String series;
+    private String model;
+    private String type;
+    private Integer minCapacity;
+    private Integer maxCapacity;
+    private Double minPrice;
+    private Double maxPrice;
+    private String sortBy = "id";
+    private String direction = "asc";
+    private Integer page = 0;
+    private Integer size = VehicleService.DEFAULT_PAGE_SIZE;
+}
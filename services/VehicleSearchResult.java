@@ -0,0 +1,17 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.Map;
+
+import org.springframework.data.domain.Page;
+
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class VehicleSearchResult {
+    private Page<VehicleEntity> vehicles;
+    private Map<String, Long> brandFacets;
+    private Map<String, Long> typeFacets;
+}
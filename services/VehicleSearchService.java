@@ -0,0 +1,102 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class VehicleSearchService {
+    private static final Set<String> SORT_FIELDS = Set.of("id", "brand", "series", "model", "type", "capacity", "price");
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleTextIndex vehicleTextIndex;
+
+    @Transactional(readOnly = true)
+    public VehicleSearchResult searchVehicles(VehicleSearchCriteria criteria) throws IllegalOperationException {
+        log.info("The vehicle search process begins");
+
+        int page = criteria.getPage() == null ? 0 : criteria.getPage();
+        int size = criteria.getSize() == null ? VehicleService.DEFAULT_PAGE_SIZE : criteria.getSize();
+        if (page < 0) {
+            throw new IllegalOperationException("Vehicle search page is not valid");
+        }
+        if (size <= 0 || size > VehicleService.MAX_PAGE_SIZE) {
+            throw new IllegalOperationException("Vehicle page size must be between 1 and " + VehicleService.MAX_PAGE_SIZE);
+        }
+        if (criteria.getMinCapacity() != null && criteria.getMaxCapacity() != null
+                && criteria.getMinCapacity() > criteria.getMaxCapacity()) {
+            throw new IllegalOperationException("Vehicle capacity range is not valid");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice() > criteria.getMaxPrice()) {
+            throw new IllegalOperationException("Vehicle price range is not valid");
+        }
+
+        String sortBy = criteria.getSortBy() == null ? "id" : criteria.getSortBy();
+        if (!SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalOperationException("Vehicle sort field is not valid");
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(criteria.getDirection())
+                .orElseThrow(() -> new IllegalOperationException("Vehicle sort direction is not valid"));
+        Sort sort = Sort.by(direction, sortBy);
+        if (!"id".equals(sortBy)) {
+            sort = sort.and(Sort.by("id"));
+        }
+
+        Specification<VehicleEntity> specification = VehicleSpecifications.matching(criteria);
+        Page<VehicleEntity> vehicles = vehicleRepository.findAll(specification, PageRequest.of(page, size, sort));
+        Map<String, Long> brandFacets = vehicleRepository.countByFacet(specification, "brand");
+        Map<String, Long> typeFacets = vehicleRepository.countByFacet(specification, "type");
+
+        log.info("The vehicle search process ends");
+        return new VehicleSearchResult(vehicles, brandFacets, typeFacets);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VehicleEntity> searchVehiclesByText(String query, Integer limit) throws IllegalOperationException {
+        log.info("The free-text vehicle search process begins");
+
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalOperationException("Vehicle search query is not valid");
+        }
+        int size = limit == null ? VehicleService.DEFAULT_PAGE_SIZE : limit;
+        if (size <= 0 || size > VehicleService.MAX_PAGE_SIZE) {
+            throw new IllegalOperationException("Vehicle page size must be between 1 and " + VehicleService.MAX_PAGE_SIZE);
+        }
+
+        List<Long> ids = vehicleTextIndex.search(query, size);
+        Map<Long, VehicleEntity> vehiclesById = vehicleRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(VehicleEntity::getId, Function.identity()));
+        // Keep the relevance order of the index, skipping ids deleted since it was read
+        List<VehicleEntity> vehicles = new ArrayList<>();
+        for (Long id : ids) {
+            VehicleEntity vehicle = vehiclesById.get(id);
+            if (vehicle != null) {
+                vehicles.add(vehicle);
+            }
+        }
+
+        log.info("The free-text vehicle search process ends");
+        return vehicles;
+    }
+}
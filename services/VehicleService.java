@@ -1,131 +1,232 @@
-package co.edu.uniandes.dse.carmotor.services;
-
-import java.util.List;
-import java.util.Optional;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import co.edu.uniandes.dse.carmotor.repositories.PhotoRepository;
-import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
-import co.edu.uniandes.dse.carmotor.entities.PhotoEntity;
-import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
-import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
-import co.edu.uniandes.dse.carmotor.exceptions.ErrorMessage;
-import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
-import lombok.extern.slf4j.Slf4j;
-
-@Slf4j
-@Service
-public class VehicleService {
-    @Autowired
-    private VehicleRepository vehicleRepository;
-
-    @Autowired
-    private PhotoRepository photoRepository;
-
-    @Transactional
-    public VehicleEntity createVehicle(VehicleEntity vehicleEntity) 
-            throws EntityNotFoundException, IllegalOperationException {
-        log.info("The vehicle creation process begins");
-    
-        if (vehicleEntity.getBrand() == null || vehicleEntity.getBrand().length() == 0) {
-            throw new IllegalOperationException("Vehicle brand is not valid");
-        }
-        if (vehicleEntity.getSeries() == null || vehicleEntity.getSeries().length() == 0) {
-            throw new IllegalOperationException("Vehicle series is not valid");
-        }
-        if (vehicleEntity.getLastPlateDigit() == null || vehicleEntity.getLastPlateDigit().length() == 0) {
-            throw new IllegalOperationException("Vehicle last plate digit is not valid");
-        }
-        if (vehicleEntity.getModel() == null || vehicleEntity.getModel().length() == 0) {
-            throw new IllegalOperationException("Vehicle model is not valid");
-        }
-        if (vehicleEntity.getType() == null || vehicleEntity.getType().length() == 0) {
-            throw new IllegalOperationException("Vehicle type is not valid");
-        }
-        if (vehicleEntity.getCapacity() == null || vehicleEntity.getCapacity() <= 0) {
-            throw new IllegalOperationException("Vehicle capacity is not valid");
-        }
-        if (vehicleEntity.getPrice() == null || Double.isNaN(vehicleEntity.getPrice()) || Double.isInfinite(vehicleEntity.getPrice())) {
-            throw new IllegalOperationException("Vehicle price is not valid");
-        }
-
-        log.info("The vehicle creation process ends");
-        return vehicleRepository.save(vehicleEntity);
-    }
-    
-    @Transactional
-    public List<VehicleEntity> getVehicles() {
-        log.info("The process of getting all vehicles begins");
-        return vehicleRepository.findAll();
-    }
-    
-    @Transactional
-    public VehicleEntity getVehicle(Long vehicleId) throws EntityNotFoundException {
-        log.info("The process of getting the vehicle with ID = {0} begins", vehicleId);
-
-        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
-        if (vehicleEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
-        }
-
-        log.info("The process of getting the vehicle with ID = {0} ends", vehicleId);
-        return vehicleEntity.get();
-    }
-    
-    @Transactional
-    public VehicleEntity updateVehicle(Long vehicleId, VehicleEntity vehicle) 
-            throws EntityNotFoundException, IllegalOperationException {
-        log.info("The process of updating the vehicle with ID = {0} begins", vehicleId);
-
-        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
-        if (vehicleEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
-        }
-
-        if (vehicle.getBrand() == null || vehicle.getBrand().length() == 0) {
-            throw new IllegalOperationException("Vehicle brand is not valid");
-        }
-        if (vehicle.getSeries() == null || vehicle.getSeries().length() == 0) {
-            throw new IllegalOperationException("Vehicle series is not valid");
-        }
-        if (vehicle.getLastPlateDigit() == null || vehicle.getLastPlateDigit().length() == 0) {
-            throw new IllegalOperationException("Vehicle last plate digit is not valid");
-        }
-        if (vehicle.getModel() == null || vehicle.getModel().length() == 0) {
-            throw new IllegalOperationException("Vehicle model is not valid");
-        }
-        if (vehicle.getType() == null || vehicle.getType().length() == 0) {
-            throw new IllegalOperationException("Vehicle type is not valid");
-        }
-        if (vehicle.getCapacity() == null || vehicle.getCapacity() <= 0) {
-            throw new IllegalOperationException("Vehicle capacity is not valid");
-        }
-        if (vehicle.getPrice() == null || Double.isNaN(vehicle.getPrice()) || Double.isInfinite(vehicle.getPrice())) {
-            throw new IllegalOperationException("Vehicle price is not valid");
-        }
-
-        vehicle.setId(vehicleId);
-
-        log.info("The process of updating the vehicle with ID = {0} ends", vehicleId);
-        return vehicleRepository.save(vehicle);
-    }
-    
-    @Transactional
-    public void deleteVehicle(Long vehicleId) throws EntityNotFoundException, IllegalOperationException {
-        log.info("The process of deleting the vehicle with ID = {0} begins", vehicleId);
-
-        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
-        if (vehicleEntity.isEmpty()) {
-            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
-        }
-
-        for (PhotoEntity photo : vehicleEntity.get().getPhotos()) {
-            photoRepository.deleteById(photo.getId());
-        }
-        
-        vehicleRepository.deleteById(vehicleId);
-        
-        log.info("The process of deleting the vehicle with ID = {0} ends", vehicleId);
-    }    
-}
\ No newline at end of file
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoRepository;
+import co.edu.uniandes.dse.carmotor.repositories.PhotoVariantRepository;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import co.edu.uniandes.dse.carmotor.entities.AssessorEntity;
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.exceptions.EntityNotFoundException;
+import co.edu.uniandes.dse.carmotor.exceptions.ErrorMessage;
+import co.edu.uniandes.dse.carmotor.exceptions.IllegalOperationException;
+import co.edu.uniandes.dse.carmotor.projections.ResourceVersion;
+import co.edu.uniandes.dse.carmotor.projections.VehicleSummary;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class VehicleService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Associations included in the vehicle detail representation.
+     */
+    private static final List<String> DETAIL_ASSOCIATIONS = List.of(
+            "photos", "banks", "insurancePolicies", "maintenances", "testDrives", "assessor");
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private PhotoVariantRepository photoVariantRepository;
+
+    @Autowired
+    private VehicleTextIndex vehicleTextIndex;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ReferenceCache<AssessorEntity> assessorCache;
+
+    @Transactional
+    public VehicleEntity createVehicle(VehicleEntity vehicleEntity) 
+            throws EntityNotFoundException, IllegalOperationException {
+        log.info("The vehicle creation process begins");
+    
+        validateVehicle(vehicleEntity);
+
+        VehicleEntity savedVehicle = vehicleRepository.save(vehicleEntity);
+        vehicleTextIndex.indexAfterCommit(savedVehicle);
+
+        log.info("The vehicle creation process ends");
+        return savedVehicle;
+    }
+    
+    @Transactional
+    public List<VehicleEntity> getVehicles() {
+        log.info("The process of getting all vehicles begins");
+        return vehicleRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public List<VehicleSummary> getVehicleSummaries(Long afterId, Integer size) throws IllegalOperationException {
+        log.info("The process of getting the summary of all vehicles begins");
+        return vehicleRepository.findProjectedByIdGreaterThanOrderByIdAsc(SummaryPages.after(afterId),
+                SummaryPages.limit(size));
+    }
+
+    @Transactional
+    public VehiclePage getVehiclePage(String cursor, Integer size, String sortBy) throws IllegalOperationException {
+        log.info("The process of getting a page of vehicles begins");
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalOperationException("Vehicle page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        VehicleCursor after = cursor == null || cursor.isEmpty() ? null : VehicleCursor.decode(cursor);
+        String sort = sortBy != null ? sortBy : (after != null ? after.getSortBy() : VehicleCursor.SORT_BY_ID);
+        if (after != null && !after.getSortBy().equals(sort)) {
+            throw new IllegalOperationException("Vehicle page cursor does not match the requested sort");
+        }
+
+        // One extra row tells whether there is a next page without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<VehicleEntity> vehicles;
+        if (VehicleCursor.SORT_BY_ID.equals(sort)) {
+            vehicles = after == null ? vehicleRepository.findAllByOrderByIdAsc(limit)
+                    : vehicleRepository.findByIdGreaterThanOrderByIdAsc(after.getLastId(), limit);
+        } else if (VehicleCursor.SORT_BY_PRICE.equals(sort)) {
+            vehicles = after == null ? vehicleRepository.findAllByOrderByPriceAscIdAsc(limit)
+                    : vehicleRepository.findByPriceKeysetAfter(after.getLastPrice(), after.getLastId(), limit);
+        } else {
+            throw new IllegalOperationException("Vehicle sort field is not valid");
+        }
+
+        String nextCursor = null;
+        if (vehicles.size() > pageSize) {
+            vehicles = new ArrayList<>(vehicles.subList(0, pageSize));
+            VehicleEntity last = vehicles.get(pageSize - 1);
+            nextCursor = new VehicleCursor(sort, last.getPrice(), last.getId()).encode();
+        }
+
+        log.info("The process of getting a page of vehicles ends");
+        return new VehiclePage(vehicles, nextCursor);
+    }
+    
+    @Transactional
+    public VehicleEntity getVehicle(Long vehicleId) throws EntityNotFoundException {
+        log.info("The process of getting the vehicle with ID = {0} begins", vehicleId);
+
+        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
+        if (vehicleEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+
+        log.info("The process of getting the vehicle with ID = {0} ends", vehicleId);
+        return vehicleEntity.get();
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getVehicleVersion(Long vehicleId) throws EntityNotFoundException {
+        Optional<ResourceVersion> version = vehicleRepository.findResourceVersion(VehicleEntity.class, vehicleId,
+                DETAIL_ASSOCIATIONS);
+        if (version.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+        return version.get();
+    }
+    
+    @Transactional
+    public VehicleEntity updateVehicle(Long vehicleId, VehicleEntity vehicle) 
+            throws EntityNotFoundException, IllegalOperationException {
+        log.info("The process of updating the vehicle with ID = {0} begins", vehicleId);
+
+        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
+        if (vehicleEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+
+        validateVehicle(vehicle);
+
+        vehicle.setId(vehicleId);
+        EntityVersions.requireCurrent(vehicle, vehicleEntity.get());
+        invalidateOwners(vehicleEntity.get());
+        VehicleEntity savedVehicle = vehicleRepository.save(vehicle);
+        vehicleTextIndex.indexAfterCommit(savedVehicle);
+
+        log.info("The process of updating the vehicle with ID = {0} ends", vehicleId);
+        return savedVehicle;
+    }
+    
+    @Transactional
+    public void deleteVehicle(Long vehicleId) throws EntityNotFoundException, IllegalOperationException {
+        log.info("The process of deleting the vehicle with ID = {0} begins", vehicleId);
+
+        Optional<VehicleEntity> vehicleEntity = vehicleRepository.findById(vehicleId);
+        if (vehicleEntity.isEmpty()) {
+            throw new EntityNotFoundException(ErrorMessage.VEHICLE_NOT_FOUND);
+        }
+
+        invalidateOwners(vehicleEntity.get());
+
+        // Photos belong to the vehicle; everything else only loses the link
+        List<Long> photoIds = vehicleRepository.findPhotoIdsById(vehicleId);
+        vehicleRepository.deletePhotoLinks(vehicleId);
+        vehicleRepository.deleteBankingLinks(vehicleId);
+        vehicleRepository.deleteInsurancePolicyLinks(vehicleId);
+        vehicleRepository.deleteMaintenanceHistoryLinks(vehicleId);
+        vehicleRepository.deleteTestDriveLinks(vehicleId);
+        vehicleRepository.deleteUserLinks(vehicleId);
+        if (!photoIds.isEmpty()) {
+            List<String> releasedHashes = new ArrayList<>(photoRepository.findContentHashesByIdIn(photoIds));
+            releasedHashes.addAll(photoVariantRepository.findContentHashesByPhotoIdIn(photoIds));
+            blobStore.releaseAfterCommit(releasedHashes);
+            photoVariantRepository.deleteByPhotoIdIn(photoIds);
+            photoRepository.deleteAllByIdInBatch(photoIds);
+        }
+        vehicleRepository.deleteInBulkById(vehicleId);
+        vehicleTextIndex.removeAfterCommit(vehicleId);
+        
+        log.info("The process of deleting the vehicle with ID = {0} ends", vehicleId);
+    }
+
+    /**
+     * Cached assessors list their vehicles, so they are dropped whenever one
+     * of those vehicles changes.
+     */
+    private void invalidateOwners(VehicleEntity vehicle) {
+        if (vehicle.getAssessor() != null) {
+            assessorCache.invalidate(vehicle.getAssessor().getId());
+        }
+    }
+
+    /**
+     * Validation rules shared by single-vehicle writes and the bulk import.
+     */
+    static void validateVehicle(VehicleEntity vehicle) throws IllegalOperationException {
+        if (vehicle.getBrand() == null || vehicle.getBrand().length() == 0) {
+            throw new IllegalOperationException("Vehicle brand is not valid");
+        }
+        if (vehicle.getSeries() == null || vehicle.getSeries().length() == 0) {
+            throw new IllegalOperationException("Vehicle series is not valid");
+        }
+        if (vehicle.getLastPlateDigit() == null || vehicle.getLastPlateDigit().length() == 0) {
+            throw new IllegalOperationException("Vehicle last plate digit is not valid");
+        }
+        if (vehicle.getModel() == null || vehicle.getModel().length() == 0) {
+            throw new IllegalOperationException("Vehicle model is not valid");
+        }
+        if (vehicle.getType() == null || vehicle.getType().length() == 0) {
+            throw new IllegalOperationException("Vehicle type is not valid");
+        }
+        if (vehicle.getCapacity() == null || vehicle.getCapacity() <= 0) {
+            throw new IllegalOperationException("Vehicle capacity is not valid");
+        }
+        if (vehicle.getPrice() == null || Double.isNaN(vehicle.getPrice()) || Double.isInfinite(vehicle.getPrice())) {
+            throw new IllegalOperationException("Vehicle price is not valid");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import jakarta.persistence.criteria.Predicate;
+
+public final class VehicleSpecifications {
+    private VehicleSpecifications() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Builds the conjunction of every filter present in the criteria. Text
+     * filters are exact matches so they can be answered from the column indexes
+     * declared on VehicleEntity.
+     */
+    public static Specification<VehicleEntity> matching(VehicleSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(criteria.getBrand())) {
+                predicates.add(cb.equal(root.get("brand"), criteria.getBrand()));
+            }
+            if (hasText(criteria.getSeries())) {
+                predicates.add(cb.equal(root.get("series"), criteria.getSeries()));
+            }
+            if (hasText(criteria.getModel())) {
+                predicates.add(cb.equal(root.get("model"), criteria.getModel()));
+            }
+            if (hasText(criteria.getType())) {
+                predicates.add(cb.equal(root.get("type"), criteria.getType()));
+            }
+            if (criteria.getMinCapacity() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<Integer>get("capacity"), criteria.getMinCapacity()));
+            }
+            if (criteria.getMaxCapacity() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<Integer>get("capacity"), criteria.getMaxCapacity()));
+            }
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<Double>get("price"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<Double>get("price"), criteria.getMaxPrice()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,223 @@
+package co.edu.uniandes.dse.carmotor.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import co.edu.uniandes.dse.carmotor.entities.VehicleEntity;
+import co.edu.uniandes.dse.carmotor.projections.VehicleSummary;
+import co.edu.uniandes.dse.carmotor.repositories.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted index over the brand, series, model and type of every vehicle.
+ * Terms are kept sorted so prefix lookups are a range scan, and each vehicle
+ * remembers its own terms so a write only touches the postings it changes.
+ */
+@Slf4j
+@Component
+public class VehicleTextIndex {
+    private static final int EXACT_SCORE = 3;
+    private static final int PREFIX_SCORE = 2;
+    private static final int FUZZY_SCORE = 1;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private volatile Terms terms = new Terms();
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    /**
+     * Loads a new index next to the current one, which keeps serving searches,
+     * and swaps it in. Holds the same lock as the writes, so none of them is
+     * applied to the old index and lost with it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        log.info("The vehicle text index rebuild begins");
+        Terms rebuilt = new Terms();
+        for (VehicleSummary vehicle : vehicleRepository.findAllProjectedByOrderByIdAsc()) {
+            rebuilt.index(vehicle.getId(), vehicle.getBrand(), vehicle.getSeries(), vehicle.getModel(),
+                    vehicle.getType());
+        }
+        terms = rebuilt;
+        log.info("The vehicle text index rebuild ends with {} vehicles and {} terms", rebuilt.termsByVehicle.size(),
+                rebuilt.postings.size());
+    }
+
+    /**
+     * Reindexes the vehicle once the current transaction commits, so a rolled
+     * back write never becomes searchable.
+     */
+    public void indexAfterCommit(VehicleEntity vehicle) {
+        Long id = vehicle.getId();
+        String brand = vehicle.getBrand();
+        String series = vehicle.getSeries();
+        String model = vehicle.getModel();
+        String type = vehicle.getType();
+        afterCommit(() -> index(id, brand, series, model, type));
+    }
+
+    public void removeAfterCommit(Long vehicleId) {
+        afterCommit(() -> remove(vehicleId));
+    }
+
+    public synchronized void index(Long vehicleId, String... fields) {
+        terms.index(vehicleId, fields);
+    }
+
+    public synchronized void remove(Long vehicleId) {
+        terms.remove(vehicleId);
+    }
+
+    /**
+     * Returns the ids of the vehicles matching any of the query terms, best
+     * first. Each query term contributes the score of its best match against
+     * the vehicle: exact, then prefix, then a single edit away.
+     */
+    public List<Long> search(String query, int limit) {
+        NavigableMap<String, Set<Long>> postings = terms.postings;
+        Map<Long, Integer> scores = new HashMap<>();
+        for (String token : tokenize(query)) {
+            Map<Long, Integer> tokenScores = new HashMap<>();
+            collect(tokenScores, postings.get(token), EXACT_SCORE);
+            for (Set<Long> ids : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                collect(tokenScores, ids, PREFIX_SCORE);
+            }
+            if (token.length() >= MIN_FUZZY_LENGTH) {
+                for (Map.Entry<String, Set<Long>> entry : postings.entrySet()) {
+                    if (withinOneEdit(token, entry.getKey())) {
+                        collect(tokenScores, entry.getValue(), FUZZY_SCORE);
+                    }
+                }
+            }
+            tokenScores.forEach((id, score) -> scores.merge(id, score, Integer::sum));
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase();
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDifference = a.length() - b.length();
+        if (lengthDifference > 1 || lengthDifference < -1 || a.equals(b)) {
+            return false;
+        }
+        String shorter = a.length() <= b.length() ? a : b;
+        String longer = a.length() <= b.length() ? b : a;
+        int i = 0;
+        while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+            i++;
+        }
+        if (shorter.length() == longer.length()) {
+            return shorter.substring(i + 1).equals(longer.substring(i + 1))
+                    || (i + 1 < shorter.length() && shorter.charAt(i) == longer.charAt(i + 1)
+                            && shorter.charAt(i + 1) == longer.charAt(i)
+                            && shorter.substring(i + 2).equals(longer.substring(i + 2)));
+        }
+        return shorter.substring(i).equals(longer.substring(i + 1));
+    }
+
+    private static void collect(Map<Long, Integer> tokenScores, Set<Long> ids, int score) {
+        if (ids != null) {
+            for (Long id : ids) {
+                tokenScores.merge(id, score, Math::max);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * The postings and the terms of every vehicle, replaced as a whole when
+     * the index is rebuilt. Writes are serialized by the enclosing index.
+     */
+    private static final class Terms {
+        private final NavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, Set<String>> termsByVehicle = new ConcurrentHashMap<>();
+
+        private void index(Long vehicleId, String... fields) {
+            Set<String> terms = new LinkedHashSet<>();
+            for (String field : fields) {
+                terms.addAll(tokenize(field));
+            }
+            Set<String> previous = termsByVehicle.put(vehicleId, terms);
+            if (previous != null) {
+                for (String term : previous) {
+                    if (!terms.contains(term)) {
+                        removePosting(term, vehicleId);
+                    }
+                }
+            }
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(vehicleId);
+            }
+        }
+
+        private void remove(Long vehicleId) {
+            Set<String> previous = termsByVehicle.remove(vehicleId);
+            if (previous != null) {
+                for (String term : previous) {
+                    removePosting(term, vehicleId);
+                }
+            }
+        }
+
+        private void removePosting(String term, Long vehicleId) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(vehicleId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file